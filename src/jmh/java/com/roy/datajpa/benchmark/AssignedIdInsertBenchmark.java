@@ -0,0 +1,100 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.Director;
+import com.roy.datajpa.monitoring.SqlStatementCounter;
+import com.roy.datajpa.repository.data.DirectorDataRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 할당 식별자를 가진 Director 100,000 건을 저장할 때
+ * isNew 로 persist 되는 save 와 항상 SELECT 후 INSERT 하는 merge 를 비교한다.
+ * 행당 SELECT 수는 selects 카운터를 rows 로 나누어 확인한다(save 0, merge 1).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class AssignedIdInsertBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private DirectorDataRepository directorDataRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private SqlStatementCounter sqlStatementCounter;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        directorDataRepository = context.getBean(DirectorDataRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        sqlStatementCounter = context.getBean(SqlStatementCounter.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteDirectors() {
+        directorDataRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long rows;
+        public long selects;
+    }
+
+    @Benchmark
+    public void save(Statements statements) {
+        insert(statements, chunk -> directorDataRepository.saveAll(chunk));
+    }
+
+    @Benchmark
+    public void merge(Statements statements) {
+        insert(statements, chunk -> chunk.forEach(entityManager::merge));
+    }
+
+    private void insert(Statements statements, Consumer<List<Director>> writer) {
+        String prefix = "director-" + invocation++ + "-";
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            for (int from = 0; from < rows; from += CHUNK_SIZE) {
+                List<Director> chunk = IntStream.range(from, Math.min(from + CHUNK_SIZE, rows))
+                        .mapToObj(i -> new Director(prefix + i, "Director" + i))
+                        .collect(Collectors.toList());
+                transactionTemplate.executeWithoutResult(status -> {
+                    writer.accept(chunk);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            }
+            statements.rows += rows;
+            statements.selects += scope.getStatementCounts().entrySet().stream()
+                    .filter(entry -> entry.getKey().toLowerCase().startsWith("select"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+    }
+
+}
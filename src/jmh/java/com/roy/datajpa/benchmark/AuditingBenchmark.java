@@ -0,0 +1,88 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.auditing.AuditingProperties;
+import com.roy.datajpa.auditing.CoarseClock;
+import com.roy.datajpa.auditing.FastAuditingEntityListener;
+import com.roy.datajpa.auditing.TransactionScopedAuditorAware;
+import com.roy.datajpa.configuration.AuditorProvider;
+import com.roy.datajpa.domain.DataBaseEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.CurrentDateTimeProvider;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 트랜잭션에서 batchSize 개의 엔티티에 생성, 수정 감사 필드를 채우는 비용을
+ * 기존 경로(AuditingHandler + 현재 시각 + 엔티티마다 감사자 조회)와 FastAuditingEntityListener 로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuditingBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private AuditingHandler auditingHandler;
+    private FastAuditingEntityListener fastListener;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        auditingHandler = new AuditingHandler(PersistentEntities.of(context.getBean(JpaMetamodelMappingContext.class)));
+        auditingHandler.setDateTimeProvider(CurrentDateTimeProvider.INSTANCE);
+        auditingHandler.setAuditorAware(context.getBean(AuditorProvider.class));
+        auditingHandler.setModifyOnCreation(false);
+
+        fastListener = new FastAuditingEntityListener(
+                context.getBean(AuditingProperties.class),
+                context.getBean(CoarseClock.class),
+                context.getBean(TransactionScopedAuditorAware.class),
+                context.getBeanProvider(AuditingHandler.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void auditingHandler(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < batchSize; i++) {
+                AuditedRow row = new AuditedRow();
+                auditingHandler.markCreated(row);
+                auditingHandler.markModified(row);
+                blackhole.consume(row);
+            }
+        });
+    }
+
+    @Benchmark
+    public void fastListener(Blackhole blackhole) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < batchSize; i++) {
+                AuditedRow row = new AuditedRow();
+                fastListener.touchForCreate(row);
+                fastListener.touchForUpdate(row);
+                blackhole.consume(row);
+            }
+        });
+    }
+
+    public static class AuditedRow extends DataBaseEntity {
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.monitoring.SqlStatementCounter;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import com.roy.datajpa.repository.data.specification.SoccerPlayerSpecification;
+import com.roy.datajpa.repository.pure.SoccerPlayerPureRepository;
+import com.roy.datajpa.repository.pure.TeamPureRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 지연 로딩 배치 페치 크기별 지연 시간과 연산당 SQL 수를 비교한다.
+ * batchFetchSize 가 1 이면 배치 페치를 사용하지 않는 것과 같다.
+ * statements / invocations 가 연산당 실행된 SQL 수이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchFetchBenchmark {
+
+    @Param({"1", "16", "100"})
+    private int batchFetchSize;
+
+    @Param({"1000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerPureRepository soccerPlayerPureRepository;
+    private TeamPureRepository teamPureRepository;
+    private SoccerPlayerDataRepository soccerPlayerDataRepository;
+    private SqlStatementCounter sqlStatementCounter;
+    private TransactionTemplate transactionTemplate;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounters {
+        public long statements;
+        public long invocations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            invocations = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.default_batch_fetch_size=" + batchFetchSize,
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        soccerPlayerPureRepository = context.getBean(SoccerPlayerPureRepository.class);
+        teamPureRepository = context.getBean(TeamPureRepository.class);
+        soccerPlayerDataRepository = context.getBean(SoccerPlayerDataRepository.class);
+        sqlStatementCounter = context.getBean(SqlStatementCounter.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        BenchmarkApplication.insertSoccerPlayers(context, datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int soccerPlayerTeam(StatementCounters counters) {
+        return countStatements(counters, () -> touchTeams(soccerPlayerPureRepository.findAll()));
+    }
+
+    @Benchmark
+    public int specificationTeam(StatementCounters counters) {
+        return countStatements(counters, () -> touchTeams(
+                soccerPlayerDataRepository.findAll(SoccerPlayerSpecification.greaterHeight(190))));
+    }
+
+    @Benchmark
+    public int teamSoccerPlayers(StatementCounters counters) {
+        return countStatements(counters, () -> teamPureRepository.findAll().stream()
+                .mapToInt(team -> team.getSoccerPlayers().size())
+                .sum());
+    }
+
+    private int touchTeams(List<SoccerPlayer> soccerPlayers) {
+        int length = 0;
+        for (SoccerPlayer soccerPlayer : soccerPlayers) {
+            Team team = soccerPlayer.getTeam();
+            length += team.getName().length();
+        }
+        return length;
+    }
+
+    private int countStatements(StatementCounters counters, Supplier<Integer> work) {
+        return transactionTemplate.execute(status -> {
+            try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+                int result = work.get();
+                counters.statements += scope.getStatementCount();
+                counters.invocations++;
+                return result;
+            }
+        });
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.DataJpaApplication;
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.pure.SoccerPlayerPureRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트를 임베디드 인메모리 H2 로 기동하고 데이터를 적재한다.
+ */
+public class BenchmarkApplication {
+
+    public static final int TEAM_COUNT = 10;
+
+    private BenchmarkApplication() {}
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "logging.level.root=warn")
+                .properties(properties)
+                .run();
+    }
+
+    public static void insertSoccerPlayers(ConfigurableApplicationContext context, int datasetSize) {
+        List<Team> teams = IntStream.range(0, TEAM_COUNT)
+                .mapToObj(i -> new Team("Team" + i))
+                .collect(Collectors.toList());
+        List<SoccerPlayer> soccerPlayers = IntStream.range(0, datasetSize)
+                .mapToObj(i -> new SoccerPlayer("Player" + i, 160 + i % 40, 60 + i % 30, teams.get(i % TEAM_COUNT)))
+                .collect(Collectors.toList());
+        context.getBean(SoccerPlayerPureRepository.class).bulkSave(soccerPlayers);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.pure.SoccerPlayerPureRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 엔티티 단위 삭제(deleteAll)와 식별자 청크 단위 벌크 삭제(bulkDeleteAllById)의 소요 시간을 비교한다.
+ * 매 호출 전에 삭제할 데이터를 새로 적재한다.
+ * remove 는 팀까지 cascade 하지만 벌크 삭제는 cascade 를 적용하지 않으므로,
+ * 같은 작업을 비교하도록 팀이 없는 축구선수만 적재한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+public class BulkDeleteBenchmark {
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerPureRepository pureRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        pureRepository = context.getBean(SoccerPlayerPureRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @Setup(Level.Invocation)
+    public void insert() {
+        pureRepository.bulkSave(IntStream.range(0, datasetSize)
+                .mapToObj(i -> new SoccerPlayer("Player" + i, 160 + i % 40, 60 + i % 30))
+                .collect(Collectors.toList()));
+        ids = pureRepository.findAll().stream()
+                .map(SoccerPlayer::getId)
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer perEntityDelete() {
+        return transactionTemplate.execute(status -> {
+            List<SoccerPlayer> soccerPlayers = pureRepository.findAll();
+            pureRepository.deleteAll(soccerPlayers);
+            pureRepository.flush();
+            return soccerPlayers.size();
+        });
+    }
+
+    @Benchmark
+    public int bulkDelete() {
+        return pureRepository.bulkDeleteAllById(ids);
+    }
+
+}
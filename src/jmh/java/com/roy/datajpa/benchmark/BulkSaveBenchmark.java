@@ -0,0 +1,67 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.pure.SoccerPlayerPureRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 건별 저장(saveAll 후 한 번에 flush)과 batchSize 단위로 flush / clear 하는 벌크 저장(bulkSave)의 소요 시간을 비교한다.
+ * 매 호출 전에 저장할 엔티티를 새로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+public class BulkSaveBenchmark {
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerPureRepository pureRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<SoccerPlayer> soccerPlayers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        pureRepository = context.getBean(SoccerPlayerPureRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @Setup(Level.Invocation)
+    public void createPlayers() {
+        soccerPlayers = IntStream.range(0, datasetSize)
+                .mapToObj(i -> new SoccerPlayer("Player" + i, 160 + i % 40, 60 + i % 30))
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer perRowSave() {
+        return transactionTemplate.execute(status -> {
+            pureRepository.saveAll(soccerPlayers);
+            pureRepository.flushAndClear();
+            return soccerPlayers.size();
+        });
+    }
+
+    @Benchmark
+    public int bulkSave() {
+        return pureRepository.bulkSave(soccerPlayers);
+    }
+
+}
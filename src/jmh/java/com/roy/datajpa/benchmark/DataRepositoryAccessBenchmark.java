@@ -0,0 +1,145 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import com.roy.datajpa.repository.data.projection.*;
+import com.roy.datajpa.repository.data.query.dto.SoccerPlayerResponseDTO;
+import com.roy.datajpa.repository.data.specification.SoccerPlayerSpecification;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SoccerPlayerDataRepository 의 조회 방식별 처리량, 지연 시간 분포, 연산당 할당량을 측정한다.
+ * 할당량은 build.gradle 의 gc 프로파일러로 함께 수집된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataRepositoryAccessBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000", "100000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerDataRepository dataRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        dataRepository = context.getBean(SoccerPlayerDataRepository.class);
+        BenchmarkApplication.insertSoccerPlayers(context, datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> derivedQuery() {
+        return dataRepository.findByNameAndHeightGreaterThan(randomName(), 150);
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> namedQuery() {
+        return dataRepository.findByNameUsingNamedQuery(randomName());
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> queryAnnotation() {
+        return dataRepository.findByNameAndHeightWithNameBaseBinding(randomName(), 150);
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> queryAnnotationAllEntity() {
+        return dataRepository.findEntityAllUsingQueryAnnotation();
+    }
+
+    @Benchmark
+    public List<SoccerPlayerResponseDTO> queryAnnotationAllDTO() {
+        return dataRepository.findDTOAllUsingQueryAnnotation();
+    }
+
+    @Benchmark
+    public List<ExcludeIdClosedProjection> closedProjection() {
+        return dataRepository.findUsingClosedProjectionByName(randomName());
+    }
+
+    @Benchmark
+    public List<BodySpecOpenProjection> openProjection() {
+        return dataRepository.findUsingOpenProjectionByName(randomName());
+    }
+
+    @Benchmark
+    public List<ExcludeIdProjectionDTO> dtoProjection() {
+        return dataRepository.findUsingDtoProjectionByName(randomName());
+    }
+
+    @Benchmark
+    public List<ExcludeIdClosedProjection> dynamicProjection() {
+        return dataRepository.findUsingDynamicProjectionByName(randomName(), ExcludeIdClosedProjection.class);
+    }
+
+    @Benchmark
+    public List<NestedClosedProjection> nestedProjection() {
+        return dataRepository.findUsingDynamicProjectionByName(randomName(), NestedClosedProjection.class);
+    }
+
+    @Benchmark
+    public Page<NativeProjectionDTO> nativeProjectionDTO() {
+        return dataRepository.findUsingNativeProjectionDTO(randomPage());
+    }
+
+    @Benchmark
+    public Page<NativeProjectionInterface> nativeProjectionInterface() {
+        return dataRepository.findUsingNativeProjectionInterface(randomPage());
+    }
+
+    @Benchmark
+    public Page<SoccerPlayer> derivedPage() {
+        return dataRepository.findPageByNameIsNotNull(randomPage());
+    }
+
+    @Benchmark
+    public Slice<SoccerPlayer> derivedSlice() {
+        return dataRepository.findSliceByNameIsNotNull(randomPage());
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> queryByExample() {
+        SoccerPlayer examplePlayer = new SoccerPlayer(randomName());
+        examplePlayer.setTeam(new Team(randomTeamName()));
+        ExampleMatcher exampleMatcher = ExampleMatcher.matching()
+                .withIgnorePaths("height", "weight");
+        return dataRepository.findAll(Example.of(examplePlayer, exampleMatcher));
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> specification() {
+        return dataRepository.findAll(SoccerPlayerSpecification.teamName(randomTeamName())
+                .and(SoccerPlayerSpecification.greaterHeight(195))
+                .and(SoccerPlayerSpecification.greaterWeight(85)));
+    }
+
+    private String randomName() {
+        return "Player" + ThreadLocalRandom.current().nextInt(datasetSize);
+    }
+
+    private String randomTeamName() {
+        return "Team" + ThreadLocalRandom.current().nextInt(BenchmarkApplication.TEAM_COUNT);
+    }
+
+    private PageRequest randomPage() {
+        int page = ThreadLocalRandom.current().nextInt(datasetSize / PAGE_SIZE);
+        return PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "soccer_player_id"));
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.Director;
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.data.DirectorDataRepository;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import com.roy.datajpa.repository.data.TeamDataRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 팀별 선수, 팀, 감독을 조회하는 요청 하나의 종단 지연 시간을
+ * 요청 스레드에서 순차로 조회할 때와 repositoryExecutor 에서 병렬로 조회할 때로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class FanOutBenchmark {
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    @Param({"true", "false"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerDataRepository soccerPlayerDataRepository;
+    private TeamDataRepository teamDataRepository;
+    private DirectorDataRepository directorDataRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("datajpa.async.virtual-threads=" + virtualThreads);
+        soccerPlayerDataRepository = context.getBean(SoccerPlayerDataRepository.class);
+        teamDataRepository = context.getBean(TeamDataRepository.class);
+        directorDataRepository = context.getBean(DirectorDataRepository.class);
+        BenchmarkApplication.insertSoccerPlayers(context, datasetSize);
+        List<Director> directors = IntStream.range(0, BenchmarkApplication.TEAM_COUNT)
+                .mapToObj(i -> new Director("director-" + i, "Director" + i))
+                .collect(Collectors.toList());
+        directorDataRepository.saveAll(directors);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        int team = randomTeam();
+        blackhole.consume(soccerPlayerDataRepository.findByTeamName("Team" + team));
+        blackhole.consume(teamDataRepository.findByName("Team" + team));
+        blackhole.consume(directorDataRepository.findByName("Director" + team));
+    }
+
+    @Benchmark
+    public void parallel(Blackhole blackhole) {
+        int team = randomTeam();
+        CompletableFuture<List<SoccerPlayer>> soccerPlayers = soccerPlayerDataRepository.findAsyncByTeamName("Team" + team);
+        CompletableFuture<Team> foundTeam = teamDataRepository.findAsyncByName("Team" + team);
+        CompletableFuture<Director> director = directorDataRepository.findAsyncByName("Director" + team);
+        CompletableFuture.allOf(soccerPlayers, foundTeam, director).join();
+        blackhole.consume(soccerPlayers.join());
+        blackhole.consume(foundTeam.join());
+        blackhole.consume(director.join());
+    }
+
+    private int randomTeam() {
+        return ThreadLocalRandom.current().nextInt(BenchmarkApplication.TEAM_COUNT);
+    }
+
+}
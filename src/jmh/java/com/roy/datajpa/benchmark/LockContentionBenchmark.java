@@ -0,0 +1,77 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.pure.SoccerPlayerPureRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 스레드가 소수의 행을 동시에 수정할 때 비관적 락(PESSIMISTIC_WRITE)과
+ * 낙관적 락(@Version + @RetryOnConflict)의 처리량과 지연 시간 분포를 비교한다.
+ * 재시도 횟수를 모두 소진한 낙관적 락 충돌은 conflicts 카운터로 집계한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class LockContentionBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int hotRows;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerPureRepository pureRepository;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        pureRepository = context.getBean(SoccerPlayerPureRepository.class);
+        BenchmarkApplication.insertSoccerPlayers(context, hotRows);
+        ids = pureRepository.findAll().stream()
+                .map(SoccerPlayer::getId)
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public SoccerPlayer pessimistic() {
+        return pureRepository.increaseWeightUsingLock(randomId(), 1);
+    }
+
+    @Benchmark
+    public SoccerPlayer optimistic(Conflicts counters) {
+        try {
+            return pureRepository.increaseWeight(randomId(), 1);
+        } catch (OptimisticLockingFailureException e) {
+            counters.conflicts++;
+            return null;
+        }
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+}
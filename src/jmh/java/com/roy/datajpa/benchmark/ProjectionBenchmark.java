@@ -0,0 +1,92 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import com.roy.datajpa.repository.data.projection.*;
+import com.roy.datajpa.repository.data.query.dto.SoccerPlayerResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 행을 프로젝션 방식별로 조회할 때의 처리량과 연산당 할당량을 비교한다.
+ * resultSetDTO, columns 는 Hibernate 를 거치지 않고 ResultSet 에서 바로 매핑한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProjectionBenchmark {
+
+    private static final int FETCH_SIZE = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerDataRepository dataRepository;
+    private PageRequest allRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        dataRepository = context.getBean(SoccerPlayerDataRepository.class);
+        BenchmarkApplication.insertSoccerPlayers(context, datasetSize);
+        allRows = PageRequest.of(0, datasetSize, Sort.by(Sort.Direction.ASC, "soccer_player_id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> entity() {
+        return dataRepository.findEntityAllUsingQueryAnnotation();
+    }
+
+    @Benchmark
+    public List<ExcludeIdClosedProjection> closedProjection() {
+        return dataRepository.findAllProjectedBy(ExcludeIdClosedProjection.class);
+    }
+
+    @Benchmark
+    public List<BodySpecOpenProjection> openProjection() {
+        return dataRepository.findAllProjectedBy(BodySpecOpenProjection.class);
+    }
+
+    @Benchmark
+    public List<ExcludeIdProjectionDTO> dtoProjection() {
+        return dataRepository.findAllProjectedBy(ExcludeIdProjectionDTO.class);
+    }
+
+    @Benchmark
+    public List<SoccerPlayerResponseDTO> queryAnnotationDTO() {
+        return dataRepository.findDTOAllUsingQueryAnnotation();
+    }
+
+    @Benchmark
+    public Page<NativeProjectionDTO> nativeProjectionDTO() {
+        return dataRepository.findUsingNativeProjectionDTO(allRows);
+    }
+
+    @Benchmark
+    public Page<NativeProjectionInterface> nativeProjectionInterface() {
+        return dataRepository.findUsingNativeProjectionInterface(allRows);
+    }
+
+    @Benchmark
+    public List<NativeProjectionDTO> resultSetDTO() {
+        return dataRepository.findAllNativeProjectionDTO(FETCH_SIZE);
+    }
+
+    @Benchmark
+    public SoccerPlayerColumns columns() {
+        return dataRepository.findAllColumns(FETCH_SIZE);
+    }
+
+}
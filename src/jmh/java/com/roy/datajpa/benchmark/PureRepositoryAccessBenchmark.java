@@ -0,0 +1,71 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.pure.SoccerPlayerPureRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SoccerPlayerPureRepository 의 조회 방식별 처리량, 지연 시간 분포, 연산당 할당량을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PureRepositoryAccessBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000", "100000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerPureRepository pureRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // findAllPage 의 카운트 쿼리 비용까지 측정하도록 카운트 캐시는 끈다.
+        context = BenchmarkApplication.start("datajpa.count-cache.ttl=0s");
+        pureRepository = context.getBean(SoccerPlayerPureRepository.class);
+        BenchmarkApplication.insertSoccerPlayers(context, datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> jpql() {
+        return pureRepository.findByNameAndHeightGreaterThan(randomName(), 150);
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> namedQuery() {
+        return pureRepository.findByNameUsingNamedQuery(randomName());
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> findAll() {
+        return pureRepository.findAll();
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> fetchJoin() {
+        return pureRepository.findAllUsingFetchJoin();
+    }
+
+    @Benchmark
+    public Page<SoccerPlayer> page() {
+        return pureRepository.findAllPage(ThreadLocalRandom.current().nextInt(datasetSize / PAGE_SIZE), PAGE_SIZE);
+    }
+
+    private String randomName() {
+        return "Player" + ThreadLocalRandom.current().nextInt(datasetSize);
+    }
+
+}
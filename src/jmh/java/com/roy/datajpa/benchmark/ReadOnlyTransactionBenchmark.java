@@ -0,0 +1,74 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import com.roy.datajpa.repository.pure.SoccerPlayerPureRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 조회를 읽기/쓰기 트랜잭션과 읽기 전용 트랜잭션에서 실행하여 지연 시간과 연산당 할당량을 비교한다.
+ * 읽기/쓰기 트랜잭션은 커밋 시점에 스냅샷과 비교하는 변경 감지 비용까지 포함한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadOnlyTransactionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    @Param({"false", "true"})
+    private boolean readOnly;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerDataRepository dataRepository;
+    private SoccerPlayerPureRepository pureRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("datajpa.count-cache.ttl=0s");
+        dataRepository = context.getBean(SoccerPlayerDataRepository.class);
+        pureRepository = context.getBean(SoccerPlayerPureRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        BenchmarkApplication.insertSoccerPlayers(context, datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> findAll() {
+        return transactionTemplate.execute(status -> dataRepository.findAll());
+    }
+
+    @Benchmark
+    public Page<SoccerPlayer> derivedPage() {
+        return transactionTemplate.execute(status -> dataRepository.findPageByNameIsNotNull(randomPage()));
+    }
+
+    @Benchmark
+    public Page<SoccerPlayer> pureFindAllPage() {
+        int page = ThreadLocalRandom.current().nextInt(datasetSize / PAGE_SIZE);
+        return transactionTemplate.execute(status -> pureRepository.findAllPage(page, PAGE_SIZE));
+    }
+
+    private PageRequest randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(datasetSize / PAGE_SIZE), PAGE_SIZE);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.roy.datajpa.benchmark;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import com.roy.datajpa.repository.data.specification.SoccerPlayerSearchCondition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecificationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private SoccerPlayerDataRepository dataRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        dataRepository = context.getBean(SoccerPlayerDataRepository.class);
+        BenchmarkApplication.insertSoccerPlayers(context, datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> specification() {
+        return dataRepository.findAll(randomCondition().toSpecification());
+    }
+
+    @Benchmark
+    public List<SoccerPlayer> cachedSearchQuery() {
+        return dataRepository.findAllBySearchCondition(randomCondition());
+    }
+
+    private SoccerPlayerSearchCondition randomCondition() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return SoccerPlayerSearchCondition.of(
+                "Team" + random.nextInt(BenchmarkApplication.TEAM_COUNT),
+                190 + random.nextInt(10),
+                60 + random.nextInt(30));
+    }
+
+}
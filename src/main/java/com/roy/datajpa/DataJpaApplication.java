@@ -4,7 +4,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
-@EnableJpaAuditing(modifyOnCreate = false)
+@EnableJpaAuditing(
+        modifyOnCreate = false,
+        dateTimeProviderRef = "coarseClock",
+        auditorAwareRef = "transactionScopedAuditorAware")
 @SpringBootApplication
 public class DataJpaApplication {
 
@@ -0,0 +1,99 @@
+package com.roy.datajpa.auditing;
+
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 엔티티 클래스별 감사 필드의 VarHandle, 클래스마다 한 번만 찾아 ClassValue 에 보관한다.
+ */
+final class AuditedFields {
+
+    private static final ClassValue<AuditedFields> FIELDS = new ClassValue<>() {
+        @Override
+        protected AuditedFields computeValue(Class<?> type) {
+            return new AuditedFields(type);
+        }
+    };
+
+    private final VarHandle[] createdDate;
+    private final VarHandle[] lastModifiedDate;
+    private final VarHandle[] createdBy;
+    private final VarHandle[] lastModifiedBy;
+
+    private AuditedFields(Class<?> type) {
+        List<VarHandle> createdDate = new ArrayList<>();
+        List<VarHandle> lastModifiedDate = new ArrayList<>();
+        List<VarHandle> createdBy = new ArrayList<>();
+        List<VarHandle> lastModifiedBy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                addIfAnnotated(createdDate, field, CreatedDate.class, true);
+                addIfAnnotated(lastModifiedDate, field, LastModifiedDate.class, true);
+                addIfAnnotated(createdBy, field, CreatedBy.class, false);
+                addIfAnnotated(lastModifiedBy, field, LastModifiedBy.class, false);
+            }
+        }
+        this.createdDate = createdDate.toArray(new VarHandle[0]);
+        this.lastModifiedDate = lastModifiedDate.toArray(new VarHandle[0]);
+        this.createdBy = createdBy.toArray(new VarHandle[0]);
+        this.lastModifiedBy = lastModifiedBy.toArray(new VarHandle[0]);
+    }
+
+    static AuditedFields of(Class<?> type) {
+        return FIELDS.get(type);
+    }
+
+    boolean hasAuditor() {
+        return createdBy.length > 0 || lastModifiedBy.length > 0;
+    }
+
+    void markCreated(Object entity, LocalDateTime now, Object auditor, boolean modifyOnCreate) {
+        set(createdDate, entity, now);
+        if (auditor != null) {
+            set(createdBy, entity, auditor);
+        }
+        if (modifyOnCreate) {
+            markModified(entity, now, auditor);
+        }
+    }
+
+    void markModified(Object entity, LocalDateTime now, Object auditor) {
+        set(lastModifiedDate, entity, now);
+        if (auditor != null) {
+            set(lastModifiedBy, entity, auditor);
+        }
+    }
+
+    private static void set(VarHandle[] handles, Object entity, Object value) {
+        for (VarHandle handle : handles) {
+            handle.set(entity, value);
+        }
+    }
+
+    private static void addIfAnnotated(List<VarHandle> handles, Field field,
+                                       Class<? extends Annotation> annotation, boolean dateField) {
+        if (!field.isAnnotationPresent(annotation)) {
+            return;
+        }
+        if (dateField && field.getType() != LocalDateTime.class) {
+            throw new IllegalStateException("Only LocalDateTime audit dates are supported: " + field);
+        }
+        try {
+            handles.add(MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectVarHandle(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access audit field " + field, e);
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.roy.datajpa.auditing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "datajpa.auditing")
+public class AuditingProperties {
+
+    /**
+     * false 이면 Spring Data 의 AuditingHandler 로 감사 필드를 채운다.
+     * 이 경우에도 JPA Auditing 에 연결된 CoarseClock 과 트랜잭션 단위 감사자(TransactionScopedAuditorAware)를 그대로 사용한다.
+     */
+    private boolean fast = true;
+
+    /**
+     * 감사 시각의 해상도, 이 주기마다 갱신된 시각을 재사용한다. 0 이면 매번 현재 시각을 읽는다.
+     */
+    private Duration clockResolution = Duration.ofMillis(10);
+
+    /**
+     * 생성 시에도 수정 시각, 수정자를 채울지 여부, @EnableJpaAuditing 의 modifyOnCreate 와 같게 둔다.
+     */
+    private boolean modifyOnCreate = false;
+
+}
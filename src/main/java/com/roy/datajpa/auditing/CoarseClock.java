@@ -0,0 +1,76 @@
+package com.roy.datajpa.auditing;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.auditing.DateTimeProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 백그라운드 스레드가 resolution 주기로 갱신하는 시각을 반환하는 DateTimeProvider.
+ * 호출마다 시계를 읽고 LocalDateTime 을 만드는 대신 volatile 읽기 한 번으로 끝난다.
+ */
+public class CoarseClock implements DateTimeProvider, DisposableBean {
+
+    private static volatile CoarseClock shared;
+
+    private final Clock clock;
+    private final ScheduledExecutorService ticker;
+    private volatile LocalDateTime now;
+
+    public CoarseClock(Duration resolution) {
+        this(Clock.systemDefaultZone(), resolution);
+        shared = this;
+    }
+
+    /**
+     * 엔티티 콜백처럼 빈을 주입받을 수 없는 곳에서 사용한다. 등록된 빈이 없으면 현재 시각을 읽는다.
+     */
+    public static LocalDateTime current() {
+        CoarseClock clock = shared;
+        return clock == null ? LocalDateTime.now() : clock.now();
+    }
+
+    CoarseClock(Clock clock, Duration resolution) {
+        this.clock = clock;
+        this.now = LocalDateTime.now(clock);
+        if (resolution.isZero() || resolution.isNegative()) {
+            this.ticker = null;
+            return;
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long resolutionNanos = resolution.toNanos();
+        ticker.scheduleAtFixedRate(() -> now = LocalDateTime.now(clock),
+                resolutionNanos, resolutionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public LocalDateTime now() {
+        return ticker == null ? LocalDateTime.now(clock) : now;
+    }
+
+    @Override
+    public Optional<TemporalAccessor> getNow() {
+        return Optional.of(now());
+    }
+
+    @Override
+    public void destroy() {
+        if (shared == this) {
+            shared = null;
+        }
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.roy.datajpa.auditing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.auditing.AuditingHandler;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+/**
+ * AuditingEntityListener 대신 사용하는 감사 리스너.
+ * 미리 찾아 둔 필드 접근자(AuditedFields), CoarseClock, 트랜잭션 단위 감사자로 감사 필드를 채운다.
+ * Hibernate 가 SpringBeanContainer 를 통해 생성하므로 생성자 주입을 사용할 수 있다.
+ */
+@RequiredArgsConstructor
+public class FastAuditingEntityListener {
+
+    private final AuditingProperties properties;
+    private final CoarseClock clock;
+    private final TransactionScopedAuditorAware<String> auditorAware;
+    private final ObjectProvider<AuditingHandler> auditingHandler;
+
+    @PrePersist
+    public void touchForCreate(Object entity) {
+        if (!properties.isFast()) {
+            auditingHandler.getObject().markCreated(entity);
+            return;
+        }
+        AuditedFields fields = AuditedFields.of(entity.getClass());
+        fields.markCreated(entity, clock.now(), currentAuditor(fields), properties.isModifyOnCreate());
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object entity) {
+        if (!properties.isFast()) {
+            auditingHandler.getObject().markModified(entity);
+            return;
+        }
+        AuditedFields fields = AuditedFields.of(entity.getClass());
+        fields.markModified(entity, clock.now(), currentAuditor(fields));
+    }
+
+    private String currentAuditor(AuditedFields fields) {
+        return fields.hasAuditor() ? auditorAware.getCurrentAuditor().orElse(null) : null;
+    }
+
+}
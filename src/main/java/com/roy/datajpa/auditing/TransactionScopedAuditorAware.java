@@ -0,0 +1,56 @@
+package com.roy.datajpa.auditing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * 트랜잭션마다 감사자를 한 번만 조회하여 트랜잭션 리소스로 보관한다.
+ * 대량 저장 시 엔티티마다 delegate 를 호출하지 않으며, 트랜잭션 밖에서는 매번 delegate 에 위임한다.
+ */
+@RequiredArgsConstructor
+public class TransactionScopedAuditorAware<T> implements AuditorAware<T> {
+
+    private final AuditorAware<T> delegate;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> getCurrentAuditor() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return delegate.getCurrentAuditor();
+        }
+        Optional<T> auditor = (Optional<T>) TransactionSynchronizationManager.getResource(this);
+        if (auditor == null) {
+            auditor = delegate.getCurrentAuditor();
+            TransactionSynchronizationManager.bindResource(this, auditor);
+            TransactionSynchronizationManager.registerSynchronization(new AuditorSynchronization(auditor));
+        }
+        return auditor;
+    }
+
+    @RequiredArgsConstructor
+    private class AuditorSynchronization implements TransactionSynchronization {
+
+        private final Optional<T> auditor;
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionScopedAuditorAware.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TransactionScopedAuditorAware.this, auditor);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionScopedAuditorAware.this);
+        }
+
+    }
+
+}
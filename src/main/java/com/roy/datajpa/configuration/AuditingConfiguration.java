@@ -0,0 +1,27 @@
+package com.roy.datajpa.configuration;
+
+import com.roy.datajpa.auditing.AuditingProperties;
+import com.roy.datajpa.auditing.CoarseClock;
+import com.roy.datajpa.auditing.TransactionScopedAuditorAware;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JPA Auditing 의 dateTimeProviderRef, auditorAwareRef 가 참조하는 빈을 등록한다.
+ */
+@Configuration
+@EnableConfigurationProperties(AuditingProperties.class)
+public class AuditingConfiguration {
+
+    @Bean
+    public CoarseClock coarseClock(AuditingProperties properties) {
+        return new CoarseClock(properties.getClockResolution());
+    }
+
+    @Bean
+    public TransactionScopedAuditorAware<String> transactionScopedAuditorAware(AuditorProvider auditorProvider) {
+        return new TransactionScopedAuditorAware<>(auditorProvider);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.roy.datajpa.configuration;
+
+import com.roy.datajpa.repository.support.FetchGraphJpaRepositoryFactoryBean;
+import com.roy.datajpa.repository.support.FetchGraphRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Spring Data 레포지토리가 호출 시점에 지정한 fetch graph(FetchGraphs)를 적용하도록 레포지토리 팩토리를 바꾼다.
+ */
+@Configuration
+@EnableJpaRepositories(
+        basePackages = "com.roy.datajpa.repository.data",
+        repositoryFactoryBeanClass = FetchGraphJpaRepositoryFactoryBean.class)
+public class FetchGraphConfiguration {
+
+    @Bean
+    public FetchGraphRegistry fetchGraphRegistry() {
+        return new FetchGraphRegistry();
+    }
+
+}
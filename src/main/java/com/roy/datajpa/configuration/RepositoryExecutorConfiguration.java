@@ -0,0 +1,69 @@
+package com.roy.datajpa.configuration;
+
+import com.roy.datajpa.repository.support.ConnectionBoundedExecutor;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 비동기 레포지토리 메서드(@Async("repositoryExecutor"))를 실행하는 실행기,
+ * 동시에 실행되는 작업 수를 커넥션 풀 크기보다 reserved-connections 만큼 작게 제한하여,
+ * 커넥션을 기다리며 스레드가 쌓이지 않고 요청 스레드가 사용할 커넥션이 항상 남도록 한다.
+ */
+@EnableAsync
+@Configuration
+public class RepositoryExecutorConfiguration {
+
+    @Bean
+    public Executor repositoryExecutor(DataSource dataSource,
+                                       @Value("${spring.datasource.hikari.maximum-pool-size:10}") int defaultPoolSize,
+                                       @Value("${datajpa.async.virtual-threads:true}") boolean virtualThreads,
+                                       @Value("${datajpa.async.queue-capacity:1000}") int queueCapacity,
+                                       @Value("${datajpa.async.reserved-connections:2}") int reservedConnections) {
+        int connectionPoolSize = Optional.ofNullable(
+                        DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class))
+                .map(HikariDataSource::getMaximumPoolSize)
+                .orElse(defaultPoolSize);
+        int poolSize = Math.max(1, connectionPoolSize - reservedConnections);
+
+        if (virtualThreads) {
+            Optional<ExecutorService> virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor.isPresent()) {
+                return new ConnectionBoundedExecutor(virtualThreadExecutor.get(), poolSize);
+            }
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("repository-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * 소스 호환성(Java 11)을 유지하기 위해 JDK 21 이상의 가상 스레드 실행기를 리플렉션으로 생성한다.
+     */
+    private static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+}
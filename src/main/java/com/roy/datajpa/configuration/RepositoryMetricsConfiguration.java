@@ -0,0 +1,93 @@
+package com.roy.datajpa.configuration;
+
+import com.roy.datajpa.monitoring.HydratedEntityCounter;
+import com.roy.datajpa.monitoring.RepositoryMetrics;
+import com.roy.datajpa.monitoring.SqlStatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+/**
+ * Spring Data 레포지토리와 @Repository 클래스(pure 레포지토리)의 메서드별 메트릭을 datajpa.repository.* 로 노출한다.
+ * Hibernate Statistics 의 HQL 별 실행 통계는 hibernate.query.* 메트릭으로 노출한다.
+ */
+@Configuration
+public class RepositoryMetricsConfiguration {
+
+    @Bean
+    public HydratedEntityCounter hydratedEntityCounter() {
+        return new HydratedEntityCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hydratedEntityCounterCustomizer(HydratedEntityCounter hydratedEntityCounter) {
+        return hibernateProperties -> hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(hydratedEntityCounter));
+    }
+
+    @Bean
+    public RepositoryMetrics repositoryMetrics(MeterRegistry meterRegistry,
+                                               SqlStatementCounter sqlStatementCounter,
+                                               HydratedEntityCounter hydratedEntityCounter) {
+        return new RepositoryMetrics(meterRegistry, sqlStatementCounter, hydratedEntityCounter);
+    }
+
+    /**
+     * Advisor 는 빈 후처리 단계에서 일찍 생성되므로 MeterRegistry 가 준비된 뒤에 인터셉터를 만든다.
+     */
+    @Bean
+    public Advisor pureRepositoryMetricsAdvisor(ObjectProvider<RepositoryMetrics> repositoryMetrics) {
+        SingletonSupplier<MethodInterceptor> interceptor =
+                SingletonSupplier.of(() -> repositoryMetrics.getObject().interceptor());
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Repository.class, true),
+                (MethodInterceptor) invocation -> interceptor.obtain().invoke(invocation));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * 트랜잭션 인터셉터보다 먼저 실행되도록 Spring Data 레포지토리 프록시의 맨 앞에 인터셉터를 추가한다.
+     */
+    @Bean
+    public static BeanPostProcessor dataRepositoryMetricsPostProcessor(ObjectProvider<RepositoryMetrics> repositoryMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(0, repositoryMetrics.getObject()
+                                            .interceptor(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> HibernateQueryMetrics.monitor(
+                registry, entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory");
+    }
+
+}
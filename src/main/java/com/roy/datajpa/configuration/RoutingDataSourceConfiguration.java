@@ -0,0 +1,59 @@
+package com.roy.datajpa.configuration;
+
+import com.roy.datajpa.datasource.ReadWriteRoutingDataSource;
+import com.roy.datajpa.datasource.RoutingDataSourceProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * datajpa.datasource.routing.enabled 가 true 이면 spring.datasource 를 primary 로,
+ * datajpa.datasource.routing.replicas 를 읽기 전용 트랜잭션용 레플리카로 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datajpa.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfiguration {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            DataSourceProperties dataSourceProperties, RoutingDataSourceProperties routingProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        List<DataSource> replicas = routingProperties.getReplicas().stream()
+                .map(this::createReplica)
+                .collect(Collectors.toList());
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    private DataSource createReplica(RoutingDataSourceProperties.Replica replica) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.roy.datajpa.configuration;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate 2차 캐시 리전(JCache)의 hit, miss, eviction 을 cache.* 메트릭으로 노출한다.
+ * 리전 단위 요청 수는 generate_statistics 설정으로 hibernate.second.level.cache.* 메트릭에도 노출된다.
+ */
+@Configuration
+public class SecondLevelCacheMetricsConfiguration {
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache()
+                    .getRegionFactory();
+            if (!(regionFactory instanceof JCacheRegionFactory)) {
+                return;
+            }
+            CacheManager cacheManager = ((JCacheRegionFactory) regionFactory).getCacheManager();
+            for (String cacheName : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName), Tags.of("cache.manager", "hibernate"));
+            }
+        };
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.roy.datajpa.configuration;
+
+import com.roy.datajpa.monitoring.SlowQueryDataSourcePostProcessor;
+import com.roy.datajpa.monitoring.SlowQueryProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "datajpa.slow-query", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryLogConfiguration {
+
+    @Bean
+    public static SlowQueryDataSourcePostProcessor slowQueryDataSourcePostProcessor(
+            ObjectProvider<SlowQueryProperties> properties) {
+        return new SlowQueryDataSourcePostProcessor(properties);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.roy.datajpa.configuration;
+
+import com.roy.datajpa.monitoring.SqlStatementCounter;
+import com.roy.datajpa.monitoring.StatementBudgetFilter;
+import com.roy.datajpa.monitoring.StatementBudgetProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StatementBudgetProperties.class)
+public class StatementInspectorConfiguration {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter(StatementBudgetProperties properties) {
+        return new SqlStatementCounter(properties);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public StatementBudgetFilter statementBudgetFilter(SqlStatementCounter sqlStatementCounter) {
+        return new StatementBudgetFilter(sqlStatementCounter);
+    }
+
+}
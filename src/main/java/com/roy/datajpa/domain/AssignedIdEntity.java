@@ -0,0 +1,38 @@
+package com.roy.datajpa.domain;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostRemove;
+import javax.persistence.PrePersist;
+import javax.persistence.Transient;
+
+/**
+ * 식별자를 직접 할당하는 엔티티의 기반 클래스.
+ * 식별자가 null 이 아니어도 persist 또는 조회 전까지는 새 엔티티로 판단하므로
+ * SimpleJpaRepository.save 가 merge 대신 persist 를 호출하여 저장 전 SELECT 가 실행되지 않는다.
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PrePersist
+    @PostLoad
+    protected void markPersisted() {
+        persisted = true;
+    }
+
+    @PostRemove
+    protected void markRemoved() {
+        persisted = false;
+    }
+
+}
@@ -1,10 +1,9 @@
 package com.roy.datajpa.domain;
 
-
+import com.roy.datajpa.auditing.FastAuditingEntityListener;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
@@ -12,7 +11,7 @@ import javax.persistence.MappedSuperclass;
 
 @Getter
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(FastAuditingEntityListener.class)
 public abstract class DataBaseEntity extends DataDateBaseEntity {
 
     @CreatedBy
@@ -1,9 +1,9 @@
 package com.roy.datajpa.domain;
 
+import com.roy.datajpa.auditing.FastAuditingEntityListener;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(FastAuditingEntityListener.class)
 public abstract class DataDateBaseEntity {
 
     @CreatedDate
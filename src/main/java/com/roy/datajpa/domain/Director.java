@@ -1,22 +1,27 @@
 package com.roy.datajpa.domain;
 
+import com.roy.datajpa.auditing.FastAuditingEntityListener;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
 import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.domain.Persistable;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
 import javax.persistence.Id;
 import java.time.LocalDateTime;
-import java.util.Objects;
 
 import static lombok.AccessLevel.PROTECTED;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
+@Getter
+@Cacheable
+@Cache(usage = READ_WRITE)
 @NoArgsConstructor(access = PROTECTED)
-@EntityListeners(AuditingEntityListener.class)
-public class Director implements Persistable<String> {
+@EntityListeners(FastAuditingEntityListener.class)
+public class Director extends AssignedIdEntity<String> {
 
     @Id
     private String id;
@@ -29,14 +34,4 @@ public class Director implements Persistable<String> {
         this.name = name;
     }
 
-    @Override
-    public String getId() {
-        return this.name;
-    }
-
-    @Override
-    public boolean isNew() {
-        return Objects.isNull(createdAt);
-    }
-
 }
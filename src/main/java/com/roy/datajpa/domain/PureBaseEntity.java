@@ -1,5 +1,6 @@
 package com.roy.datajpa.domain;
 
+import com.roy.datajpa.auditing.CoarseClock;
 import lombok.Getter;
 
 import javax.persistence.Column;
@@ -18,13 +19,13 @@ public abstract class PureBaseEntity {
 
     @PrePersist
     public void prePersist() {
-        createdAt = LocalDateTime.now();
+        createdAt = CoarseClock.current();
         updatedAt = createdAt;
     }
 
     @PreUpdate
     public void preUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = CoarseClock.current();
     }
 
 }
@@ -1,5 +1,6 @@
 package com.roy.datajpa.domain;
 
+import com.roy.datajpa.repository.support.CountCacheEntityListener;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -10,9 +11,17 @@ import java.util.Objects;
 
 import static javax.persistence.CascadeType.ALL;
 import static javax.persistence.FetchType.LAZY;
+import static javax.persistence.GenerationType.SEQUENCE;
 import static lombok.AccessLevel.PROTECTED;
 
 @Entity
+@Table(name = "soccer_player", indexes = {
+        @Index(name = "idx_soccer_player_name_height", columnList = "name, height"),
+        @Index(name = "idx_soccer_player_height", columnList = "height, soccer_player_id"),
+        @Index(name = "idx_soccer_player_weight", columnList = "weight")
+})
+@EntityListeners(CountCacheEntityListener.class)
+@NamedEntityGraph(name = "SoccerPlayer.team", attributeNodes = @NamedAttributeNode("team"))
 @NamedQueries(value = {
         @NamedQuery(
                 name = "SoccerPlayer.findByName",
@@ -26,13 +35,21 @@ import static lombok.AccessLevel.PROTECTED;
 @NoArgsConstructor(access = PROTECTED)
 public class SoccerPlayer {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "soccer_player_seq_generator")
+    @SequenceGenerator(
+            name = "soccer_player_seq_generator",
+            sequenceName = "soccer_player_seq",
+            allocationSize = 50)
     @Column(name = "soccer_player_id")
     private Long id;
     private String name;
     private int height;
     private int weight;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = LAZY, cascade = ALL)
     @JoinColumn(name = "team_id")
     private Team team;
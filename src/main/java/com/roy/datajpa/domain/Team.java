@@ -1,14 +1,19 @@
 package com.roy.datajpa.domain;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 import static lombok.AccessLevel.*;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name"))
+@Cacheable
+@Cache(usage = READ_WRITE)
 @Getter @Setter
 @ToString(of = {"id", "name"})
 @NoArgsConstructor(access = PROTECTED)
@@ -19,6 +24,9 @@ public class Team {
     private Long id;
     private String name;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "team")
     private List<SoccerPlayer> soccerPlayers = new ArrayList<>();
 
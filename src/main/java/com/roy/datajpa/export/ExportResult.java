@@ -0,0 +1,24 @@
+package com.roy.datajpa.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ExportResult {
+    private final int exportedPartitions;
+    private final int skippedPartitions;
+    private final long rows;
+    private final Duration elapsed;
+
+    /**
+     * 이번 실행에서 내보낸 행 기준 초당 처리량, 건너뛴 파티션은 포함하지 않는다.
+     */
+    public double getRowsPerSecond() {
+        return elapsed.isZero() ? rows : rows * 1_000_000_000.0 / elapsed.toNanos();
+    }
+}
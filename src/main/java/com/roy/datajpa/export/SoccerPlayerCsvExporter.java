@@ -0,0 +1,254 @@
+package com.roy.datajpa.export;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * soccer_player 테이블을 식별자 구간(파티션)으로 나누어 파티션마다 별도 커넥션에서 병렬로 조회하고
+ * 엔티티를 만들지 않고 CSV 파일(part-00000.csv ...)로 기록한다.
+ * 파티션 파일은 임시 파일에 쓴 뒤 원자적으로 이동하므로, 다시 실행하면 완료되지 않은 파티션만 내보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SoccerPlayerCsvExporter {
+
+    private static final String HEADER = "id,name,height,weight\n";
+    private static final String MANIFEST = "manifest.properties";
+    private static final String ID_RANGE_QUERY =
+            "SELECT MIN(SP.soccer_player_id), MAX(SP.soccer_player_id) FROM soccer_player SP";
+    private static final String PARTITION_QUERY =
+            "SELECT " +
+            "   SP.soccer_player_id as id, " +
+            "   SP.name as name, " +
+            "   SP.height as height, " +
+            "   SP.weight as weight " +
+            "FROM " +
+            "   soccer_player SP " +
+            "WHERE " +
+            "   SP.soccer_player_id >= ? " +
+            "   AND SP.soccer_player_id < ? ";
+
+    private final DataSource dataSource;
+
+    @Value("${datajpa.export.parallelism:4}")
+    private int parallelism;
+
+    @Value("${datajpa.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${datajpa.export.buffer-size:65536}")
+    private int bufferSize;
+
+    public ExportResult export(Path directory, int partitionCount) throws IOException {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("partitionCount must be positive: " + partitionCount);
+        }
+        Files.createDirectories(directory);
+        List<Partition> partitions = loadOrCreatePartitions(directory, partitionCount);
+        if (partitions.isEmpty()) {
+            return new ExportResult(0, 0, 0, Duration.ZERO);
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, partitions.size()));
+        try {
+            List<CompletableFuture<Long>> futures = partitions.stream()
+                    .map(partition -> CompletableFuture.supplyAsync(() -> export(directory, partition), executor))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            int exportedPartitions = 0;
+            long rows = 0;
+            for (CompletableFuture<Long> future : futures) {
+                if (future.join() >= 0) {
+                    exportedPartitions++;
+                    rows += future.join();
+                }
+            }
+            ExportResult result = new ExportResult(exportedPartitions, partitions.size() - exportedPartitions,
+                    rows, Duration.ofNanos(System.nanoTime() - start));
+            log.info("Exported {} rows in {} partitions ({} skipped), {} rows/s", result.getRows(),
+                    result.getExportedPartitions(), result.getSkippedPartitions(), (long) result.getRowsPerSecond());
+            return result;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 이미 완료된 파티션은 -1 을 반환한다.
+     */
+    private long export(Path directory, Partition partition) {
+        Path target = directory.resolve(String.format("part-%05d.csv", partition.index));
+        if (Files.exists(target)) {
+            return -1;
+        }
+        long start = System.nanoTime();
+        try {
+            long rows = write(partition, target);
+            long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+            log.info("Exported partition {} [{}, {}): {} rows, {} rows/s", partition.index,
+                    partition.fromId, partition.toId, rows, rows * 1_000_000_000L / elapsedNanos);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export of partition " + partition.index + " failed", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Export of partition " + partition.index + " failed", e);
+        }
+    }
+
+    private long write(Partition partition, Path target) throws IOException, SQLException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+        StringBuilder line = new StringBuilder(64);
+        long rows = 0;
+
+        try (FileChannel channel = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING);
+             Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PARTITION_QUERY)) {
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, partition.fromId);
+            statement.setLong(2, partition.toId);
+
+            write(channel, buffer, encoder, HEADER);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    line.setLength(0);
+                    line.append(resultSet.getLong(1)).append(',');
+                    appendQuoted(line, resultSet.getString(2));
+                    line.append(',').append(resultSet.getInt(3))
+                            .append(',').append(resultSet.getInt(4))
+                            .append('\n');
+                    write(channel, buffer, encoder, line);
+                    rows++;
+                }
+            }
+            drain(channel, buffer);
+            channel.force(false);
+        }
+        Files.move(temp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        return rows;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, CharsetEncoder encoder, CharSequence text)
+            throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (encoder.encode(chars, buffer, false).isOverflow()) {
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void appendQuoted(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * 다시 실행해도 같은 구간으로 나누도록 처음 실행할 때의 식별자 범위를 manifest 에 남겨 둔다.
+     */
+    private List<Partition> loadOrCreatePartitions(Path directory, int partitionCount) throws IOException {
+        Path manifestPath = directory.resolve(MANIFEST);
+        Properties manifest = new Properties();
+        if (Files.exists(manifestPath)) {
+            try (Reader reader = Files.newBufferedReader(manifestPath)) {
+                manifest.load(reader);
+            }
+        } else {
+            long[] idRange = findIdRange();
+            if (idRange == null) {
+                return List.of();
+            }
+            manifest.setProperty("minId", String.valueOf(idRange[0]));
+            manifest.setProperty("maxId", String.valueOf(idRange[1]));
+            manifest.setProperty("partitions", String.valueOf(partitionCount));
+            try (Writer writer = Files.newBufferedWriter(manifestPath)) {
+                manifest.store(writer, null);
+            }
+        }
+        return Partition.split(Long.parseLong(manifest.getProperty("minId")),
+                Long.parseLong(manifest.getProperty("maxId")),
+                Integer.parseInt(manifest.getProperty("partitions")));
+    }
+
+    private long[] findIdRange() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(ID_RANGE_QUERY);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            long minId = resultSet.getLong(1);
+            return resultSet.wasNull() ? null : new long[]{minId, resultSet.getLong(2)};
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read the soccer_player id range", e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Partition {
+        private final int index;
+        private final long fromId;
+        private final long toId;
+
+        private static List<Partition> split(long minId, long maxId, int partitionCount) {
+            long step = Math.max((maxId - minId + partitionCount) / partitionCount, 1);
+            List<Partition> partitions = new ArrayList<>();
+            for (long fromId = minId; fromId <= maxId; fromId += step) {
+                partitions.add(new Partition(partitions.size(), fromId, Math.min(fromId + step, maxId + 1)));
+            }
+            return partitions;
+        }
+    }
+
+}
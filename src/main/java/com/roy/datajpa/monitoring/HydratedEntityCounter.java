@@ -0,0 +1,39 @@
+package com.roy.datajpa.monitoring;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * 현재 스레드에서 로딩(hydrate)된 엔티티 수를 센다.
+ * hibernate.integrator_provider 로 등록되어 POST_LOAD 이벤트 리스너를 추가한다.
+ */
+public class HydratedEntityCounter implements Integrator, PostLoadEventListener {
+
+    private static final ThreadLocal<long[]> THREAD_HYDRATED_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    public long getThreadHydratedCount() {
+        return THREAD_HYDRATED_COUNT.get()[0];
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        THREAD_HYDRATED_COUNT.get()[0]++;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        serviceRegistry.getService(EventListenerRegistry.class).appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.roy.datajpa.monitoring;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class QueryPlanInspection {
+    /**
+     * EXPLAIN 까지 실행된 쿼리 메서드, SQL 변환이나 EXPLAIN 에 실패한 메서드는 포함하지 않는다.
+     */
+    private final List<String> explainedSources;
+    private final List<String> fullScanSources;
+}
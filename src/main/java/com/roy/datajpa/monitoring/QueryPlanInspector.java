@@ -0,0 +1,206 @@
+package com.roy.datajpa.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedQuery;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 애플리케이션 기동 후 Spring Data 리포지토리에 등록된 쿼리 메서드의 SQL 을 EXPLAIN 하고
+ * 실행 계획에 전체 테이블 스캔이 포함된 메서드를 경고 로그로 남긴다.
+ * 메서드 이름 기반 쿼리는 PartTree 로 조건절만 재구성한 JPQL 을 사용한다.
+ * 커스텀 프래그먼트 메서드와 Specification 쿼리는 실행 시점에 JPQL 을 만들기 때문에 검사 대상이 아니다.
+ * JPQL 을 SQL 로 바꿀 때 Hibernate 5 의 SPI 인 QueryPlanCache 를 사용하므로 Hibernate 를 올릴 때 함께 바꿔야 한다.
+ * 기동 시간이 늘어나므로 기본값은 꺼져 있고 테스트, 개발 환경에서만 켠다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "datajpa.explain", name = "enabled", havingValue = "true")
+public class QueryPlanInspector {
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+
+    @Value("${datajpa.explain.full-scan-pattern:tableScan}")
+    private String fullScanPattern;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        inspect();
+    }
+
+    public QueryPlanInspection inspect() {
+        Map<String, String> statements = new LinkedHashMap<>();
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryInformationFor(domainType).ifPresent(information ->
+                    collectStatements(information.getRepositoryInterface(), domainType, statements));
+        }
+
+        List<String> explainedSources = new ArrayList<>();
+        List<String> fullScanSources = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (Map.Entry<String, String> statement : statements.entrySet()) {
+                explain(connection, statement.getKey(), statement.getValue()).ifPresent(plan -> {
+                    explainedSources.add(statement.getKey());
+                    if (plan.contains(fullScanPattern)) {
+                        log.warn("Full table scan in {}:\n{}", statement.getKey(), plan);
+                        fullScanSources.add(statement.getKey());
+                    } else {
+                        log.debug("Query plan of {}:\n{}", statement.getKey(), plan);
+                    }
+                });
+            }
+        } catch (SQLException e) {
+            log.warn("Query plan inspection failed", e);
+        }
+        log.info("Query plan inspection finished: {} of {} statements explained, {} full table scans {}",
+                explainedSources.size(), statements.size(), fullScanSources.size(), fullScanSources);
+        return new QueryPlanInspection(explainedSources, fullScanSources);
+    }
+
+    private void collectStatements(Class<?> repositoryInterface, Class<?> domainType, Map<String, String> statements) {
+        for (Method method : repositoryInterface.getDeclaredMethods()) {
+            if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String source = repositoryInterface.getSimpleName() + "." + method.getName();
+            try {
+                toSql(method, domainType).ifPresent(sql -> statements.put(source, sql));
+            } catch (RuntimeException e) {
+                log.debug("Skip query plan inspection of {}: {}", source, e.getMessage());
+            }
+        }
+    }
+
+    private Optional<String> toSql(Method method, Class<?> domainType) {
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        if (query != null && StringUtils.hasText(query.value())) {
+            return Optional.of(query.nativeQuery() ? query.value() : translate(query.value()));
+        }
+        if (query != null && StringUtils.hasText(query.name())) {
+            return Arrays.stream(domainType.getAnnotationsByType(NamedQuery.class))
+                    .filter(namedQuery -> namedQuery.name().equals(query.name()))
+                    .findFirst()
+                    .map(namedQuery -> translate(namedQuery.query()));
+        }
+        return Optional.of(translate(derive(method.getName(), domainType)));
+    }
+
+    private String translate(String jpql) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getQueryPlanCache()
+                .getHQLQueryPlan(jpql, false, Collections.emptyMap())
+                .getSqlStrings()[0];
+    }
+
+    private String derive(String methodName, Class<?> domainType) {
+        PartTree tree = new PartTree(methodName, domainType);
+        StringBuilder jpql = new StringBuilder("SELECT E FROM ")
+                .append(entityManagerFactory.getMetamodel().entity(domainType).getName())
+                .append(" E");
+
+        List<String> orPredicates = new ArrayList<>();
+        int position = 1;
+        for (PartTree.OrPart orPart : tree) {
+            List<String> andPredicates = new ArrayList<>();
+            for (Part part : orPart) {
+                andPredicates.add(toPredicate(part, position));
+                position += part.getNumberOfArguments();
+            }
+            orPredicates.add(String.join(" AND ", andPredicates));
+        }
+        if (!orPredicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" OR ", orPredicates));
+        }
+
+        Sort sort = tree.getSort();
+        if (sort.isSorted()) {
+            jpql.append(" ORDER BY ").append(sort.stream()
+                    .map(order -> "E." + order.getProperty() + " " + order.getDirection())
+                    .collect(Collectors.joining(", ")));
+        }
+        return jpql.toString();
+    }
+
+    private String toPredicate(Part part, int position) {
+        String path = "E." + part.getProperty().toDotPath();
+        switch (part.getType()) {
+            case SIMPLE_PROPERTY:
+                return path + " = ?" + position;
+            case NEGATING_SIMPLE_PROPERTY:
+                return path + " <> ?" + position;
+            case GREATER_THAN:
+            case AFTER:
+                return path + " > ?" + position;
+            case GREATER_THAN_EQUAL:
+                return path + " >= ?" + position;
+            case LESS_THAN:
+            case BEFORE:
+                return path + " < ?" + position;
+            case LESS_THAN_EQUAL:
+                return path + " <= ?" + position;
+            case BETWEEN:
+                return path + " BETWEEN ?" + position + " AND ?" + (position + 1);
+            case IS_NULL:
+                return path + " IS NULL";
+            case IS_NOT_NULL:
+                return path + " IS NOT NULL";
+            case IN:
+                return path + " IN (?" + position + ")";
+            case LIKE:
+            case STARTING_WITH:
+            case ENDING_WITH:
+            case CONTAINING:
+                return path + " LIKE ?" + position;
+            default:
+                throw new IllegalArgumentException("Unsupported part type: " + part.getType());
+        }
+    }
+
+    private Optional<String> explain(Connection connection, String source, String sql) {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setString(i, "0");
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return Optional.of(plan.toString());
+        } catch (SQLException e) {
+            log.debug("Skip EXPLAIN of {}: {}", source, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.roy.datajpa.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 레포지토리 메서드 단위로 지연 시간, 반환 행 수, 실행한 SQL 수, 로딩한 엔티티 수를 기록한다.
+ * 메서드마다 미터를 한 번만 등록해 두고 호출 시에는 스레드 카운터의 전후 차이만 계산한다.
+ */
+@RequiredArgsConstructor
+public class RepositoryMetrics {
+
+    public static final String INVOCATIONS = "datajpa.repository.invocations";
+    public static final String ROWS = "datajpa.repository.rows";
+    public static final String STATEMENTS = "datajpa.repository.statements";
+    public static final String HYDRATED_ENTITIES = "datajpa.repository.entities.hydrated";
+
+    private static final ThreadLocal<String> CURRENT_METHOD = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final HydratedEntityCounter hydratedEntityCounter;
+
+    /**
+     * 현재 스레드에서 실행 중인 레포지토리 메서드(Repository.method), 레포지토리 밖에서 실행된 SQL 이면 null 이다.
+     */
+    public static String currentMethod() {
+        return CURRENT_METHOD.get();
+    }
+
+    /**
+     * Spring Data 레포지토리 프록시용, 구현체가 SimpleJpaRepository 이므로 레포지토리 인터페이스 이름을 사용한다.
+     */
+    public MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        String repository = repositoryInterface.getSimpleName();
+        return new Interceptor(invocation -> repository);
+    }
+
+    public MethodInterceptor interceptor() {
+        return new Interceptor(invocation -> ClassUtils.getUserClass(invocation.getThis()).getSimpleName());
+    }
+
+    private class Interceptor implements MethodInterceptor {
+
+        private final Function<MethodInvocation, String> repositoryName;
+        private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+        private Interceptor(Function<MethodInvocation, String> repositoryName) {
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Meters methodMeters = meters.computeIfAbsent(invocation.getMethod(),
+                    method -> new Meters(repositoryName.apply(invocation), method));
+            String previousMethod = CURRENT_METHOD.get();
+            CURRENT_METHOD.set(methodMeters.source);
+            long statementsBefore = sqlStatementCounter.getThreadStatementCount();
+            long hydratedBefore = hydratedEntityCounter.getThreadHydratedCount();
+            long start = meterRegistry.config().clock().monotonicTime();
+            try {
+                Object result = invocation.proceed();
+                methodMeters.record(meterRegistry.config().clock().monotonicTime() - start, result,
+                        sqlStatementCounter.getThreadStatementCount() - statementsBefore,
+                        hydratedEntityCounter.getThreadHydratedCount() - hydratedBefore);
+                return result;
+            } catch (Throwable e) {
+                Timer.builder(INVOCATIONS)
+                        .tags(methodMeters.tags)
+                        .tag("exception", e.getClass().getSimpleName())
+                        .register(meterRegistry)
+                        .record(meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            } finally {
+                CURRENT_METHOD.set(previousMethod);
+            }
+        }
+
+    }
+
+    private class Meters {
+
+        private final String source;
+        private final Tags tags;
+        private final Timer timer;
+        private final DistributionSummary rows;
+        private final DistributionSummary statements;
+        private final DistributionSummary hydratedEntities;
+
+        private Meters(String repository, Method method) {
+            this.source = repository + "." + method.getName();
+            this.tags = Tags.of("repository", repository, "method", method.getName());
+            this.timer = Timer.builder(INVOCATIONS).tags(tags).tag("exception", "None").register(meterRegistry);
+            this.rows = returnsRows(method) ? DistributionSummary.builder(ROWS).tags(tags).register(meterRegistry) : null;
+            this.statements = DistributionSummary.builder(STATEMENTS).tags(tags).register(meterRegistry);
+            this.hydratedEntities = DistributionSummary.builder(HYDRATED_ENTITIES).tags(tags).register(meterRegistry);
+        }
+
+        private void record(long elapsedNanos, Object result, long statementCount, long hydratedCount) {
+            timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (rows != null) {
+                rows.record(rowCount(result));
+            }
+            statements.record(statementCount);
+            hydratedEntities.record(hydratedCount);
+        }
+
+    }
+
+    /**
+     * 행 수를 알 수 없는 반환 타입(void, 숫자, Stream, Future 등)은 행 수를 기록하지 않는다.
+     */
+    private static boolean returnsRows(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return !returnType.isPrimitive()
+                && !Number.class.isAssignableFrom(returnType)
+                && !Boolean.class.equals(returnType)
+                && !AutoCloseable.class.isAssignableFrom(returnType)
+                && !Future.class.isAssignableFrom(returnType);
+    }
+
+    private static int rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof RowCountable) {
+            return ((RowCountable) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.roy.datajpa.monitoring;
+
+/**
+ * 컬렉션이나 Slice 가 아닌 반환 타입이 RepositoryMetrics 에 반환 행 수를 알려줄 때 구현한다.
+ */
+public interface RowCountable {
+    int size();
+}
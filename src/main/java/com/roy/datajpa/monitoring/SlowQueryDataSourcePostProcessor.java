@@ -0,0 +1,46 @@
+package com.roy.datajpa.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * DataSource 빈을 datasource-proxy 로 감싸 SlowQueryListener 를 연결한다.
+ * 라우팅 DataSource 는 이를 감싼 dataSource 빈에서 한 번만 측정되도록 제외한다.
+ */
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private final ObjectProvider<SlowQueryProperties> properties;
+    private final List<SlowQueryListener> listeners = new CopyOnWriteArrayList<>();
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource || bean instanceof AbstractRoutingDataSource) {
+            return bean;
+        }
+        DataSource dataSource = (DataSource) bean;
+        SlowQueryListener listener = new SlowQueryListener(properties.getObject(), dataSource);
+        listeners.add(listener);
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(listener)
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        listeners.forEach(SlowQueryListener::close);
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.roy.datajpa.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 임계치를 넘은 SQL 을 바인딩 값, 호출한 레포지토리 메서드와 함께 별도 스레드에서 기록한다.
+ * 실행 스레드에서는 값 복사와 대기열 추가만 하고, 대기열이 가득 차면 기록을 버린다.
+ */
+@Slf4j
+public class SlowQueryListener implements QueryExecutionListener, AutoCloseable {
+
+    private final SlowQueryProperties properties;
+    private final DataSource targetDataSource;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public SlowQueryListener(SlowQueryProperties properties, DataSource targetDataSource) {
+        this.properties = properties;
+        this.targetDataSource = targetDataSource;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> droppedCount.incrementAndGet());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = executionInfo.getElapsedTime();
+        if (elapsedMillis < properties.getThreshold().toMillis()
+                || ThreadLocalRandom.current().nextDouble() >= properties.getSamplingRate()) {
+            return;
+        }
+        String origin = RepositoryMetrics.currentMethod();
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            List<ParameterSetOperation> parameters = parametersList.isEmpty()
+                    ? List.of() : new ArrayList<>(parametersList.get(0));
+            String sql = queryInfo.getQuery();
+            int batchSize = parametersList.size();
+            executor.execute(() -> log(elapsedMillis, origin, sql, parameters, batchSize));
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void log(long elapsedMillis, String origin, String sql, List<ParameterSetOperation> parameters, int batchSize) {
+        String plan = properties.isExplain() && isSelect(sql) ? "\n" + explain(sql, parameters) : "";
+        log.warn("Slow query {} ms from {}: {} {}{}{}", elapsedMillis, origin == null ? "-" : origin, sql,
+                format(parameters), batchSize > 1 ? " (batch " + batchSize + ")" : "", plan);
+    }
+
+    private String explain(String sql, List<ParameterSetOperation> parameters) {
+        try (Connection connection = targetDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // 실행 시점의 setXxx 호출을 그대로 재현하여 같은 바인딩 값으로 계획을 구한다.
+            for (ParameterSetOperation parameter : parameters) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            List<String> plan = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+            }
+            return String.join("\n", plan);
+        } catch (SQLException | ReflectiveOperationException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private static String format(List<ParameterSetOperation> parameters) {
+        return parameters.stream()
+                .map(ParameterSetOperation::getArgs)
+                .map(args -> args[0] + "=" + (args.length > 1 ? args[1] : null))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        if (droppedCount.get() > 0) {
+            log.warn("{} slow query logs were dropped because the queue was full", droppedCount.get());
+        }
+    }
+
+}
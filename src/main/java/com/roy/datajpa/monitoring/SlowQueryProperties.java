@@ -0,0 +1,35 @@
+package com.roy.datajpa.monitoring;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "datajpa.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 이 시간 이상 걸린 SQL 만 기록한다.
+     */
+    private Duration threshold = Duration.ofMillis(300);
+
+    /**
+     * 느린 SQL 중 기록할 비율(0.0 ~ 1.0)
+     */
+    private double samplingRate = 1.0;
+
+    /**
+     * 느린 SELECT 의 실행 계획을 별도 커넥션으로 EXPLAIN 하여 함께 기록한다.
+     */
+    private boolean explain = false;
+
+    /**
+     * 기록 대기열 크기, 가득 차면 새로 들어오는 기록은 버린다.
+     */
+    private int queueCapacity = 1000;
+
+}
@@ -0,0 +1,106 @@
+package com.roy.datajpa.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate 가 준비하는 SQL 을 현재 스레드에 열린 범위(Scope) 단위로 센다.
+ * 바인딩 파라미터가 ? 로 남아 있기 때문에 같은 SQL 문자열은 같은 모양의 쿼리이고,
+ * 같은 모양이 반복되면 지연 로딩으로 인한 N + 1 을 의심할 수 있다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+    private static final ThreadLocal<long[]> THREAD_STATEMENT_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final StatementBudgetProperties properties;
+
+    public Scope open() {
+        Scope scope = new Scope(CURRENT_SCOPE.get());
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
+    /**
+     * 현재 스레드에서 지금까지 준비된 SQL 수, 범위를 열지 않고 전후 차이로 구간의 SQL 수를 구할 때 사용한다.
+     */
+    public long getThreadStatementCount() {
+        return THREAD_STATEMENT_COUNT.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        THREAD_STATEMENT_COUNT.get()[0]++;
+        Scope scope = CURRENT_SCOPE.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    private void violate(String message) {
+        if (properties.getAction() == StatementBudgetProperties.Action.FAIL) {
+            throw new StatementBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    public class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, Integer> statementCounts = new HashMap<>();
+        private int statementCount;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void record(String sql) {
+            statementCount++;
+            int repeatedCount = statementCounts.merge(sql, 1, Integer::sum);
+
+            int maxStatements = properties.getMaxStatements();
+            if (maxStatements > 0 && statementCount == maxStatements + 1) {
+                violate("SQL statement budget exceeded: more than " + maxStatements + " statements");
+            }
+            int maxRepeatedStatements = properties.getMaxRepeatedStatements();
+            if (maxRepeatedStatements > 0 && repeatedCount == maxRepeatedStatements + 1) {
+                violate("Possible N + 1: same statement executed more than "
+                        + maxRepeatedStatements + " times: " + sql);
+            }
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public Map<String, Integer> getRepeatedStatements() {
+            return statementCounts.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 1)
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+
+        public Map<String, Integer> getStatementCounts() {
+            return Collections.unmodifiableMap(statementCounts);
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT_SCOPE.remove();
+            } else {
+                CURRENT_SCOPE.set(parent);
+            }
+        }
+
+    }
+
+}
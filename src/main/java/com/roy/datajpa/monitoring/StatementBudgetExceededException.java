@@ -0,0 +1,9 @@
+package com.roy.datajpa.monitoring;
+
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.roy.datajpa.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 웹 요청 하나를 SQL 수 집계 범위로 사용한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            filterChain.doFilter(request, response);
+            log.debug("{} {} executed {} statements",
+                    request.getMethod(), request.getRequestURI(), scope.getStatementCount());
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.roy.datajpa.monitoring;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "datajpa.statement-budget")
+public class StatementBudgetProperties {
+
+    /**
+     * 하나의 범위(웹 요청 등)에서 허용하는 최대 SQL 수, 0 이하이면 검사하지 않는다.
+     */
+    private int maxStatements = 0;
+
+    /**
+     * 같은 모양의 SQL 을 반복해서 허용하는 최대 횟수, 0 이하이면 검사하지 않는다.
+     */
+    private int maxRepeatedStatements = 0;
+
+    private Action action = Action.WARN;
+
+    public enum Action {
+        WARN, FAIL
+    }
+
+}
@@ -2,6 +2,21 @@ package com.roy.datajpa.repository.data;
 
 import com.roy.datajpa.domain.Director;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.scheduling.annotation.Async;
+
+import javax.persistence.QueryHint;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+public interface DirectorDataRepository extends JpaRepository<Director, String> {
+
+    @QueryHints(value = @QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<Director> findByName(String name);
+
+    @Async("repositoryExecutor")
+    CompletableFuture<Director> findAsyncByName(String name);
 
-public interface DirectorDataRepository extends JpaRepository<Director, Long> {
 }
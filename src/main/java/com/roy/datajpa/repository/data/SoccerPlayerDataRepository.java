@@ -2,25 +2,44 @@ package com.roy.datajpa.repository.data;
 
 import com.roy.datajpa.domain.SoccerPlayer;
 import com.roy.datajpa.repository.data.custom.SoccerPlayerDataRepositoryCustom;
+import com.roy.datajpa.repository.data.keyset.KeysetSlice;
+import com.roy.datajpa.repository.data.keyset.SoccerPlayerKeyset;
 import com.roy.datajpa.repository.data.projection.*;
 import com.roy.datajpa.repository.data.query.dto.SoccerPlayerResponseDTO;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+/**
+ * 조회 메서드는 읽기 전용 트랜잭션으로 실행되어 스냅샷 생성과 flush 시점의 변경 감지를 생략한다.
+ * 변경이 필요한 쿼리 메서드에만 @Transactional 을 다시 선언한다.
+ * Page 를 반환하는 쿼리 메서드의 카운트 쿼리는 Spring Data 가 직접 실행하므로 CountCache 를 거치지 않는다.
+ * 카운트 쿼리를 줄여야 하면 findPageUsingNativeWindowCount 처럼 윈도 함수로 전체 건수를 함께 조회한다.
+ */
+@Transactional(readOnly = true)
 public interface SoccerPlayerDataRepository extends
         JpaRepository<SoccerPlayer, Long>,
         SoccerPlayerDataRepositoryCustom,
         JpaSpecificationExecutor<SoccerPlayer> {
 
+    int ID_IN_CHUNK_SIZE = 1024;
+
     List<SoccerPlayer> findByNameAndHeightGreaterThan(String name, int height);
 
     List<SoccerPlayer> findByNameAndHeightGreaterThanAndWeightLessThan(String name, int height, int weight);
@@ -40,6 +59,13 @@ public interface SoccerPlayerDataRepository extends
             "FROM SoccerPlayer SP")
     List<SoccerPlayerResponseDTO> findDTOAllUsingQueryAnnotation();
 
+    @QueryHints(value = @QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(value =
+            "SELECT new com.roy.datajpa.repository.data.query.dto.SoccerPlayerResponseDTO " +
+            "(SP.name, SP.height, SP.weight) " +
+            "FROM SoccerPlayer SP")
+    Stream<SoccerPlayerResponseDTO> streamDTOAllUsingQueryAnnotation();
+
     @Query(value =
             "SELECT SP " +
             "FROM SoccerPlayer SP " +
@@ -56,12 +82,23 @@ public interface SoccerPlayerDataRepository extends
             "   AND SP.height > :height ")
     List<SoccerPlayer> findByNameAndHeightWithNameBaseBinding(String name, int height);
 
-    @Query(value =
-            "SELECT SP " +
-            "FROM SoccerPlayer SP " +
-            "WHERE " +
-            "   SP.id IN :ids ")
-    List<SoccerPlayer> findByIdIn(Set<Long> ids);
+    /**
+     * 식별자가 많아도 IN 절 하나로 보내지 않도록 청크 단위 조회(findAllByIdInChunks)에 위임한다.
+     */
+    default List<SoccerPlayer> findByIdIn(Set<Long> ids) {
+        return findAllByIdInChunks(ids, ID_IN_CHUNK_SIZE, false);
+    }
+
+    List<SoccerPlayer> findByTeamName(String teamName);
+
+    /**
+     * repositoryExecutor 에서 별도 트랜잭션으로 실행되므로 반환된 엔티티는 준영속 상태이다.
+     */
+    @Async("repositoryExecutor")
+    CompletableFuture<List<SoccerPlayer>> findAsyncByTeamName(String teamName);
+
+    @Async("repositoryExecutor")
+    CompletableFuture<Page<SoccerPlayer>> findAsyncPageByNameIsNotNull(Pageable pageable);
 
     SoccerPlayer findOneByName(String name);
 
@@ -78,10 +115,55 @@ public interface SoccerPlayerDataRepository extends
 
     Slice<SoccerPlayer> findSliceByNameIsNotNull(Pageable pageable);
 
+    /**
+     * 식별자 오름차순 Keyset 페이징. size + 1 건만 조회하며 OFFSET 과 추가 정렬은 붙지 않는다.
+     */
+    default KeysetSlice<SoccerPlayer, Long> findSliceByNameIsNotNullAfterId(Long id, int size) {
+        return KeysetSlice.of(
+                findByNameIsNotNullAndIdGreaterThanOrderByIdAsc(id, keysetLimit(size)), size, SoccerPlayer::getId);
+    }
+
+    /**
+     * 키 (height DESC, id DESC) 기준 Keyset 페이징. size + 1 건만 조회하며 OFFSET 과 추가 정렬은 붙지 않는다.
+     */
+    default KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> findSliceByHeightKeyset(SoccerPlayerKeyset keyset, int size) {
+        return KeysetSlice.of(
+                findByHeightKeyset(keyset.getHeight(), keyset.getId(), keysetLimit(size)), size, SoccerPlayerKeyset::of);
+    }
+
+    /**
+     * findSliceByNameIsNotNullAfterId 용 조회 메서드. 정렬이 없는 첫 페이지 요청만 전달해야 한다.
+     */
+    List<SoccerPlayer> findByNameIsNotNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable limit);
+
+    /**
+     * findSliceByHeightKeyset 용 조회 메서드. 정렬이 없는 첫 페이지 요청만 전달해야 한다.
+     */
+    @Query(value =
+            "SELECT SP " +
+            "FROM SoccerPlayer SP " +
+            "WHERE " +
+            "   SP.name IS NOT NULL " +
+            "   AND (SP.height < :height " +
+            "       OR (SP.height = :height AND SP.id < :id)) " +
+            "ORDER BY SP.height DESC, SP.id DESC")
+    List<SoccerPlayer> findByHeightKeyset(@Param("height") int height, @Param("id") long id, Pageable limit);
+
+    /**
+     * 다음 페이지 존재 여부를 판단하기 위해 size + 1 건을 요청한다.
+     */
+    private static Pageable keysetLimit(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    @Transactional
     @Modifying(clearAutomatically = true)
     @Query(value =
             "UPDATE SoccerPlayer SP " +
-            "SET SP.weight = SP.weight + 10 " +
+            "SET SP.weight = SP.weight + 10, SP.version = SP.version + 1 " +
             "WHERE SP.height > :height")
     int bulkUpdate(int height);
 
@@ -101,9 +183,13 @@ public interface SoccerPlayerDataRepository extends
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     SoccerPlayer findReadOnlyByName(String name);
 
+    @Transactional
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<SoccerPlayer> findUsingLockByName(String name);
 
+    @Lock(LockModeType.OPTIMISTIC)
+    List<SoccerPlayer> findUsingOptimisticLockByName(String name);
+
     List<ExcludeIdClosedProjection> findUsingClosedProjectionByName(String name);
 
     List<BodySpecOpenProjection> findUsingOpenProjectionByName(String name);
@@ -112,6 +198,8 @@ public interface SoccerPlayerDataRepository extends
 
     <T> List<T> findUsingDynamicProjectionByName(String name, Class<T> type);
 
+    <T> List<T> findAllProjectedBy(Class<T> type);
+
     @Query(value =
             "SELECT " +
             "   SP.soccer_player_id as id, " +
@@ -134,4 +222,22 @@ public interface SoccerPlayerDataRepository extends
             , nativeQuery = true)
     Page<NativeProjectionInterface> findUsingNativeProjectionInterface(Pageable pageable);
 
+    @Query(value =
+            "SELECT " +
+            "   SP.soccer_player_id as id, " +
+            "   SP.name as name, " +
+            "   SP.height as height, " +
+            "   SP.weight as weight, " +
+            "   COUNT(*) OVER() as totalCount " +
+            "FROM " +
+            "   soccer_player SP "
+            , nativeQuery = true)
+    List<NativeWindowCountProjection> findUsingNativeWindowCount(Pageable pageable);
+
+    default Page<NativeWindowCountProjection> findPageUsingNativeWindowCount(Pageable pageable) {
+        List<NativeWindowCountProjection> content = findUsingNativeWindowCount(pageable);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> content.isEmpty() ? count() : content.get(0).getTotalCount());
+    }
+
 }
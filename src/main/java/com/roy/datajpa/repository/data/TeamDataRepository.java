@@ -1,6 +1,23 @@
 package com.roy.datajpa.repository.data;
 
 import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.data.custom.TeamDataRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.scheduling.annotation.Async;
 
-public interface TeamDataRepository extends JpaRepository<Team, Long> {}
+import javax.persistence.QueryHint;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+public interface TeamDataRepository extends JpaRepository<Team, Long>, TeamDataRepositoryCustom {
+
+    @QueryHints(value = @QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<Team> findByName(String name);
+
+    @Async("repositoryExecutor")
+    CompletableFuture<Team> findAsyncByName(String name);
+
+}
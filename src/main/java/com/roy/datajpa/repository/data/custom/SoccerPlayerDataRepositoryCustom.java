@@ -1,9 +1,65 @@
 package com.roy.datajpa.repository.data.custom;
 
 import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.data.keyset.KeysetSlice;
+import com.roy.datajpa.repository.data.keyset.SoccerPlayerKeyset;
+import com.roy.datajpa.repository.data.projection.NativeProjectionDTO;
+import com.roy.datajpa.repository.data.projection.SoccerPlayerColumns;
+import com.roy.datajpa.repository.data.specification.SoccerPlayerSearchCondition;
+import com.roy.datajpa.repository.support.BulkUpdate;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 public interface SoccerPlayerDataRepositoryCustom {
     List<SoccerPlayer> findCustomByName(String name);
+
+    /**
+     * 저장 중 영속성 컨텍스트를 비우므로 호출자가 들고 있던 엔티티도 준영속 상태가 된다.
+     */
+    int bulkSaveAll(List<SoccerPlayer> soccerPlayers, int batchSize);
+
+    KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> findSliceByKeyset(
+            Specification<SoccerPlayer> specification, SoccerPlayerKeyset keyset, int size);
+
+    Stream<SoccerPlayer> streamAll(int fetchSize);
+
+    List<SoccerPlayer> findAllBySearchCondition(SoccerPlayerSearchCondition condition);
+
+    int bulkDeleteAllById(Collection<Long> ids, int chunkSize);
+
+    int bulkDelete(Specification<SoccerPlayer> specification, int chunkSize);
+
+    int bulkUpdate(BulkUpdate<SoccerPlayer> update);
+
+    /**
+     * JpaRepository 의 배치 삭제를 대신해 카운트 캐시를 함께 무효화한다.
+     * deleteInBatch 는 JpaRepository 에서 deleteAllInBatch 로 위임되므로 같이 적용된다.
+     */
+    void deleteAllInBatch();
+
+    void deleteAllInBatch(Iterable<SoccerPlayer> soccerPlayers);
+
+    void deleteAllByIdInBatch(Iterable<Long> ids);
+
+    /**
+     * in_clause_parameter_padding 과 맞도록 chunkSize 를 2의 거듭제곱으로 올려서 나눈다. (예: 3 -> 4, 1000 -> 1024)
+     * 한 IN 절의 바인드 파라미터 수는 SoccerPlayerDataRepository.ID_IN_CHUNK_SIZE 를 넘지 않는다.
+     */
+    List<SoccerPlayer> findAllByIdInChunks(Collection<Long> ids, int chunkSize, boolean keepOrder);
+
+    /**
+     * 청크 크기는 순차 조회와 같은 규칙으로 정한다.
+     */
+
+    CompletableFuture<List<SoccerPlayer>> findAllByIdInChunks(
+            Collection<Long> ids, int chunkSize, boolean keepOrder, Executor executor);
+
+    List<NativeProjectionDTO> findAllNativeProjectionDTO(int fetchSize);
+
+    SoccerPlayerColumns findAllColumns(int fetchSize);
 }
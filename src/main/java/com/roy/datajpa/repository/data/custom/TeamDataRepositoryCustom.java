@@ -0,0 +1,12 @@
+package com.roy.datajpa.repository.data.custom;
+
+import com.roy.datajpa.domain.Team;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TeamDataRepositoryCustom {
+    Page<Team> findPageWithSoccerPlayers(Pageable pageable);
+
+    Page<Team> findPageWithSoccerPlayers(Specification<Team> specification, Pageable pageable);
+}
@@ -1,16 +1,84 @@
 package com.roy.datajpa.repository.data.custom.impl;
 
 import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
 import com.roy.datajpa.repository.data.custom.SoccerPlayerDataRepositoryCustom;
-import lombok.RequiredArgsConstructor;
+import com.roy.datajpa.repository.data.keyset.KeysetSlice;
+import com.roy.datajpa.repository.data.keyset.SoccerPlayerKeyset;
+import com.roy.datajpa.repository.data.projection.NativeProjectionDTO;
+import com.roy.datajpa.repository.data.projection.SoccerPlayerColumns;
+import com.roy.datajpa.repository.data.specification.SoccerPlayerSearchCondition;
+import com.roy.datajpa.repository.data.specification.SoccerPlayerSpecification;
+import com.roy.datajpa.repository.support.BatchInserts;
+import com.roy.datajpa.repository.support.BulkUpdate;
+import com.roy.datajpa.repository.support.ChunkedDeletes;
+import com.roy.datajpa.repository.support.Chunks;
+import com.roy.datajpa.repository.support.CountCache;
+import com.roy.datajpa.repository.support.DetachingStreams;
+import com.roy.datajpa.repository.support.FetchGraphRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Session;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-@RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class SoccerPlayerDataRepositoryCustomImpl implements SoccerPlayerDataRepositoryCustom {
 
+    // 조건 조합(shape)은 최대 8가지이므로 캐시 크기가 제한된다.
+    private static final Map<Integer, String> SEARCH_QUERIES = new ConcurrentHashMap<>();
+    private static final String NATIVE_PROJECTION_QUERY =
+            "SELECT " +
+            "   SP.soccer_player_id as id, " +
+            "   SP.name as name, " +
+            "   SP.height as height, " +
+            "   SP.weight as weight " +
+            "FROM " +
+            "   soccer_player SP " +
+            "ORDER BY SP.soccer_player_id";
+
     private final EntityManager entityManager;
+    private final CountCache countCache;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 프래그먼트는 레포지토리 팩토리의 EntityManager 를 쓰지 않으므로 직접 감싸서 FetchGraphs 를 적용한다.
+     */
+    public SoccerPlayerDataRepositoryCustomImpl(EntityManager entityManager, CountCache countCache,
+                                                PlatformTransactionManager transactionManager,
+                                                MeterRegistry meterRegistry, FetchGraphRegistry fetchGraphRegistry) {
+        this.entityManager = fetchGraphRegistry.wrap(entityManager);
+        this.countCache = countCache;
+        this.transactionManager = transactionManager;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
     public List<SoccerPlayer> findCustomByName(String name) {
@@ -20,4 +88,243 @@ public class SoccerPlayerDataRepositoryCustomImpl implements SoccerPlayerDataRep
                 .getResultList();
     }
 
+    @Override
+    @Transactional
+    public int bulkSaveAll(List<SoccerPlayer> soccerPlayers, int batchSize) {
+        return BatchInserts.persistAll(entityManager, soccerPlayers, batchSize, soccerPlayer ->
+                soccerPlayer.setTeam(BatchInserts.managedReference(entityManager, soccerPlayer.getTeam(), Team::getId)));
+    }
+
+    @Override
+    public KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> findSliceByKeyset(
+            Specification<SoccerPlayer> specification, SoccerPlayerKeyset keyset, int size) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SoccerPlayer> query = criteriaBuilder.createQuery(SoccerPlayer.class);
+        Root<SoccerPlayer> root = query.from(SoccerPlayer.class);
+
+        Predicate predicate = Specification.where(specification)
+                .and(SoccerPlayerSpecification.afterKeyset(keyset))
+                .toPredicate(root, query, criteriaBuilder);
+        query.select(root)
+                .where(predicate)
+                .orderBy(criteriaBuilder.desc(root.get("height")), criteriaBuilder.desc(root.get("id")));
+
+        List<SoccerPlayer> content = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        return KeysetSlice.of(content, size, SoccerPlayerKeyset::of);
+    }
+
+    @Override
+    public Stream<SoccerPlayer> streamAll(int fetchSize) {
+        // EntityManager 로 만든 쿼리를 unwrap 해야 스크롤 쿼리에도 fetch graph 힌트가 적용된다.
+        @SuppressWarnings("unchecked")
+        org.hibernate.query.Query<SoccerPlayer> query = entityManager.createQuery(
+                "SELECT SP FROM SoccerPlayer SP", SoccerPlayer.class)
+                .unwrap(org.hibernate.query.Query.class);
+        return DetachingStreams.stream(entityManager.unwrap(Session.class), query, fetchSize);
+    }
+
+    @Override
+    public List<SoccerPlayer> findAllBySearchCondition(SoccerPlayerSearchCondition condition) {
+        int shape = condition.shape();
+        TypedQuery<SoccerPlayer> query = entityManager.createQuery(
+                SEARCH_QUERIES.computeIfAbsent(shape, this::createSearchQuery), SoccerPlayer.class);
+        if ((shape & SoccerPlayerSearchCondition.TEAM_NAME) != 0) {
+            query.setParameter("teamName", condition.getTeamName());
+        }
+        if ((shape & SoccerPlayerSearchCondition.GREATER_HEIGHT) != 0) {
+            query.setParameter("height", condition.getHeight());
+        }
+        if ((shape & SoccerPlayerSearchCondition.GREATER_WEIGHT) != 0) {
+            query.setParameter("weight", condition.getWeight());
+        }
+        return query.getResultList();
+    }
+
+    private String createSearchQuery(int shape) {
+        StringBuilder jpql = new StringBuilder("SELECT SP FROM SoccerPlayer SP ");
+        List<String> predicates = new ArrayList<>();
+        if ((shape & SoccerPlayerSearchCondition.TEAM_NAME) != 0) {
+            jpql.append("JOIN SP.team T ");
+            predicates.add("T.name = :teamName");
+        }
+        if ((shape & SoccerPlayerSearchCondition.GREATER_HEIGHT) != 0) {
+            predicates.add("SP.height > :height");
+        }
+        if ((shape & SoccerPlayerSearchCondition.GREATER_WEIGHT) != 0) {
+            predicates.add("SP.weight > :weight");
+        }
+        if (!predicates.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", predicates));
+        }
+        return jpql.toString();
+    }
+
+    @Override
+    @Transactional
+    public int bulkDeleteAllById(Collection<Long> ids, int chunkSize) {
+        countCache.invalidate(SoccerPlayer.class);
+        return ChunkedDeletes.deleteAllById(entityManager, SoccerPlayer.class, ids, chunkSize);
+    }
+
+    @Override
+    @Transactional
+    public int bulkDelete(Specification<SoccerPlayer> specification, int chunkSize) {
+        countCache.invalidate(SoccerPlayer.class);
+        return ChunkedDeletes.delete(entityManager, SoccerPlayer.class, specification, chunkSize);
+    }
+
+    @Override
+    @Transactional
+    public int bulkUpdate(BulkUpdate<SoccerPlayer> update) {
+        countCache.invalidate(SoccerPlayer.class);
+        return update.execute(entityManager);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllInBatch() {
+        countCache.invalidate(SoccerPlayer.class);
+        entityManager.createQuery("DELETE FROM SoccerPlayer SP").executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllInBatch(Iterable<SoccerPlayer> soccerPlayers) {
+        deleteAllByIdInBatch(StreamSupport.stream(soccerPlayers.spliterator(), false)
+                .map(SoccerPlayer::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        List<Long> idList = StreamSupport.stream(ids.spliterator(), false).collect(Collectors.toList());
+        if (idList.isEmpty()) {
+            return;
+        }
+        countCache.invalidate(SoccerPlayer.class);
+        entityManager.createQuery("DELETE FROM SoccerPlayer SP WHERE SP.id IN :ids")
+                .setParameter("ids", idList)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<SoccerPlayer> findAllByIdInChunks(Collection<Long> ids, int chunkSize, boolean keepOrder) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<List<Long>> chunks = partitionIds(ids, chunkSize);
+        List<SoccerPlayer> soccerPlayers = new ArrayList<>();
+        chunks.forEach(chunk -> soccerPlayers.addAll(findAllByIdIn(chunk)));
+        recordIdInChunks(sample, "sequential", chunks.size());
+        return keepOrder ? orderByIds(ids, soccerPlayers) : soccerPlayers;
+    }
+
+    /**
+     * 청크마다 별도의 읽기 전용 트랜잭션(커넥션)에서 조회하므로 반환되는 엔티티는 준영속 상태이다.
+     */
+    @Override
+    public CompletableFuture<List<SoccerPlayer>> findAllByIdInChunks(
+            Collection<Long> ids, int chunkSize, boolean keepOrder, Executor executor) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        List<List<Long>> chunks = partitionIds(ids, chunkSize);
+        List<CompletableFuture<List<SoccerPlayer>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(
+                        () -> transactionTemplate.execute(status -> findAllByIdIn(chunk)), executor))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<SoccerPlayer> soccerPlayers = new ArrayList<>();
+                    futures.forEach(future -> soccerPlayers.addAll(future.join()));
+                    recordIdInChunks(sample, "parallel", chunks.size());
+                    return keepOrder ? orderByIds(ids, soccerPlayers) : soccerPlayers;
+                });
+    }
+
+    private List<List<Long>> partitionIds(Collection<Long> ids, int chunkSize) {
+        // in_clause_parameter_padding 과 함께 2의 거듭제곱 크기로 나누어 SQL 모양의 수를 제한한다.
+        return Chunks.partition(ids, paddedChunkSize(chunkSize));
+    }
+
+    private static int paddedChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (chunkSize >= SoccerPlayerDataRepository.ID_IN_CHUNK_SIZE) {
+            return SoccerPlayerDataRepository.ID_IN_CHUNK_SIZE;
+        }
+        return chunkSize == 1 ? 1 : Integer.highestOneBit(chunkSize - 1) << 1;
+    }
+
+    private List<SoccerPlayer> findAllByIdIn(List<Long> ids) {
+        return entityManager.createQuery(
+                "SELECT SP FROM SoccerPlayer SP WHERE SP.id IN :ids", SoccerPlayer.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private List<SoccerPlayer> orderByIds(Collection<Long> ids, List<SoccerPlayer> soccerPlayers) {
+        Map<Long, SoccerPlayer> soccerPlayersById = soccerPlayers.stream()
+                .collect(Collectors.toMap(SoccerPlayer::getId, Function.identity(), (first, second) -> first));
+        return ids.stream()
+                .map(soccerPlayersById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<NativeProjectionDTO> findAllNativeProjectionDTO(int fetchSize) {
+        return queryNativeProjection(fetchSize, resultSet -> {
+            List<NativeProjectionDTO> content = new ArrayList<>();
+            while (resultSet.next()) {
+                content.add(new NativeProjectionDTO(
+                        resultSet.getLong(1), resultSet.getString(2), resultSet.getInt(3), resultSet.getInt(4)));
+            }
+            return content;
+        });
+    }
+
+    @Override
+    public SoccerPlayerColumns findAllColumns(int fetchSize) {
+        return queryNativeProjection(fetchSize, resultSet -> {
+            SoccerPlayerColumns columns = new SoccerPlayerColumns(fetchSize);
+            while (resultSet.next()) {
+                columns.add(resultSet.getLong(1), resultSet.getString(2), resultSet.getInt(3), resultSet.getInt(4));
+            }
+            return columns;
+        });
+    }
+
+    /**
+     * Hibernate 의 튜플 변환과 리플렉션을 거치지 않고 현재 트랜잭션의 커넥션에서 ResultSet 을 직접 읽는다.
+     * JDBC 로 직접 조회하므로 아직 반영되지 않은 변경은 먼저 flush 한다.
+     */
+    private <T> T queryNativeProjection(int fetchSize, ResultSetExtractor<T> extractor) {
+        Session session = entityManager.unwrap(Session.class);
+        session.flush();
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(NATIVE_PROJECTION_QUERY)) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return extractor.extractData(resultSet);
+                }
+            }
+        });
+    }
+
+    private void recordIdInChunks(Timer.Sample sample, String mode, int chunkCount) {
+        sample.stop(Timer.builder("datajpa.repository.id-in-chunks")
+                .tag("mode", mode)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+        DistributionSummary.builder("datajpa.repository.id-in-chunks.chunks")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(chunkCount);
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.roy.datajpa.repository.data.custom.impl;
+
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.data.custom.TeamDataRepositoryCustom;
+import com.roy.datajpa.repository.support.CollectionFetchPaging;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TeamDataRepositoryCustomImpl implements TeamDataRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<Team> findPageWithSoccerPlayers(Pageable pageable) {
+        return findPageWithSoccerPlayers(null, pageable);
+    }
+
+    @Override
+    public Page<Team> findPageWithSoccerPlayers(Specification<Team> specification, Pageable pageable) {
+        return CollectionFetchPaging.findPage(entityManager, Team.class, specification, pageable, "soccerPlayers");
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.roy.datajpa.repository.data.keyset;
+
+import com.roy.datajpa.monitoring.RowCountable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetSlice<T, K> implements RowCountable {
+    private final List<T> content;
+    private final K nextKeyset;
+    private final boolean hasNext;
+
+    /**
+     * size + 1 건을 조회한 결과로 다음 페이지 존재 여부와 이어서 조회할 키를 계산한다.
+     */
+    public static <T, K> KeysetSlice<T, K> of(List<T> fetched, int size, Function<T, K> keysetExtractor) {
+        boolean hasNext = fetched.size() > size;
+        List<T> content = hasNext ? fetched.subList(0, size) : fetched;
+        return new KeysetSlice<>(content, lastKeyset(content, keysetExtractor), hasNext);
+    }
+
+    @Override
+    public int size() {
+        return content.size();
+    }
+
+    private static <T, K> K lastKeyset(List<T> content, Function<T, K> keysetExtractor) {
+        return content.isEmpty() ? null : keysetExtractor.apply(content.get(content.size() - 1));
+    }
+
+}
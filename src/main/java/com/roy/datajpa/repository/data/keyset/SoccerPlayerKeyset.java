@@ -0,0 +1,26 @@
+package com.roy.datajpa.repository.data.keyset;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 키 내림차순, 식별자 내림차순 정렬에서 마지막으로 조회한 (height, id)
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(staticName = "of")
+public class SoccerPlayerKeyset {
+    public static final SoccerPlayerKeyset FIRST = of(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private final int height;
+    private final long id;
+
+    public static SoccerPlayerKeyset of(SoccerPlayer soccerPlayer) {
+        return of(soccerPlayer.getHeight(), soccerPlayer.getId());
+    }
+
+}
@@ -0,0 +1,5 @@
+package com.roy.datajpa.repository.data.projection;
+
+public interface NativeWindowCountProjection extends NativeProjectionInterface {
+    long getTotalCount();
+}
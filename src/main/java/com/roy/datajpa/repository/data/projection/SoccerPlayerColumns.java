@@ -0,0 +1,76 @@
+package com.roy.datajpa.repository.data.projection;
+
+import com.roy.datajpa.monitoring.RowCountable;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * 행마다 객체를 만들지 않고 컬럼별 기본형 배열(int[] 키, 몸무게)에 담는 프로젝션.
+ */
+public class SoccerPlayerColumns implements RowCountable {
+    private long[] ids;
+    private String[] names;
+    private int[] heights;
+    private int[] weights;
+    private int size;
+
+    public SoccerPlayerColumns(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.ids = new long[capacity];
+        this.names = new String[capacity];
+        this.heights = new int[capacity];
+        this.weights = new int[capacity];
+    }
+
+    public void add(long id, String name, int height, int weight) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        ids[size] = id;
+        names[size] = name;
+        heights[size] = height;
+        weights[size] = weight;
+        size++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long getId(int row) {
+        return ids[checkRow(row)];
+    }
+
+    public String getName(int row) {
+        return names[checkRow(row)];
+    }
+
+    public int getHeight(int row) {
+        return heights[checkRow(row)];
+    }
+
+    public int getWeight(int row) {
+        return weights[checkRow(row)];
+    }
+
+    public IntStream heights() {
+        return Arrays.stream(heights, 0, size);
+    }
+
+    public IntStream weights() {
+        return Arrays.stream(weights, 0, size);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " out of " + size);
+        }
+        return row;
+    }
+}
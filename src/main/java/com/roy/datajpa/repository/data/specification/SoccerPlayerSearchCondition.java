@@ -0,0 +1,51 @@
+package com.roy.datajpa.repository.data.specification;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * SoccerPlayerSpecification 조합을 값 객체로 표현한다.
+ * 어떤 조건이 포함되었는지(shape)로 JPQL 을 캐시하고 파라미터만 바인딩하기 위해 사용한다.
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class SoccerPlayerSearchCondition {
+    public static final int TEAM_NAME = 1;
+    public static final int GREATER_HEIGHT = 1 << 1;
+    public static final int GREATER_WEIGHT = 1 << 2;
+
+    private final String teamName;
+    private final Integer height;
+    private final Integer weight;
+
+    public int shape() {
+        int shape = 0;
+        if (StringUtils.hasText(teamName)) {
+            shape |= TEAM_NAME;
+        }
+        if (Objects.nonNull(height)) {
+            shape |= GREATER_HEIGHT;
+        }
+        if (Objects.nonNull(weight)) {
+            shape |= GREATER_WEIGHT;
+        }
+        return shape;
+    }
+
+    public Specification<SoccerPlayer> toSpecification() {
+        Specification<SoccerPlayer> specification = Specification.where(SoccerPlayerSpecification.teamName(teamName));
+        if (Objects.nonNull(height)) {
+            specification = specification.and(SoccerPlayerSpecification.greaterHeight(height));
+        }
+        if (Objects.nonNull(weight)) {
+            specification = specification.and(SoccerPlayerSpecification.greaterWeight(weight));
+        }
+        return specification;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.roy.datajpa.repository.data.specification;
 
 import com.roy.datajpa.domain.SoccerPlayer;
 import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.data.keyset.SoccerPlayerKeyset;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
@@ -28,4 +29,12 @@ public class SoccerPlayerSpecification {
         return ((root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("weight"), weight));
     }
 
+    public static Specification<SoccerPlayer> afterKeyset(final SoccerPlayerKeyset keyset) {
+        return ((root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("height"), keyset.getHeight()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("height"), keyset.getHeight()),
+                        criteriaBuilder.lessThan(root.get("id"), keyset.getId()))));
+    }
+
 }
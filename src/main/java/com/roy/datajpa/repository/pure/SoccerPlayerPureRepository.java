@@ -1,36 +1,84 @@
 package com.roy.datajpa.repository.pure;
 
 import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.data.keyset.KeysetSlice;
+import com.roy.datajpa.repository.data.keyset.SoccerPlayerKeyset;
+import com.roy.datajpa.repository.support.BatchInserts;
+import com.roy.datajpa.repository.support.BulkUpdate;
+import com.roy.datajpa.repository.support.ChunkedDeletes;
+import com.roy.datajpa.repository.support.CountCache;
+import com.roy.datajpa.repository.support.DetachingStreams;
+import com.roy.datajpa.repository.support.RetryOnConflict;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true)
 public class SoccerPlayerPureRepository {
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Autowired
+    private CountCache countCache;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int defaultBatchSize;
+
+    @Value("${datajpa.bulk-delete.chunk-size:1000}")
+    private int defaultDeleteChunkSize;
+
+    @Transactional
     public SoccerPlayer save(SoccerPlayer soccerPlayer) {
         entityManager.persist(soccerPlayer);
         return soccerPlayer;
     }
 
+    @Transactional
     public List<SoccerPlayer> saveAll(List<SoccerPlayer> soccerPlayers) {
         List<SoccerPlayer> answer = new ArrayList<>();
         soccerPlayers.forEach(soccerPlayer -> answer.add(save(soccerPlayer)));
         return answer;
     }
 
+    @Transactional
+    public int bulkSave(List<SoccerPlayer> soccerPlayers) {
+        return bulkSave(soccerPlayers, defaultBatchSize);
+    }
+
+    /**
+     * 저장 중 영속성 컨텍스트를 비우므로 호출자가 들고 있던 엔티티도 준영속 상태가 된다.
+     */
+    @Transactional
+    public int bulkSave(List<SoccerPlayer> soccerPlayers, int batchSize) {
+        return BatchInserts.persistAll(entityManager, soccerPlayers, batchSize, soccerPlayer ->
+                soccerPlayer.setTeam(BatchInserts.managedReference(entityManager, soccerPlayer.getTeam(), Team::getId)));
+    }
+
+    @Transactional
     public void flushAndClear() {
         flush();
         clear();
     }
 
+    @Transactional
     public void flush() {
         entityManager.flush();
     }
@@ -39,20 +87,50 @@ public class SoccerPlayerPureRepository {
         entityManager.clear();
     }
 
+    @Transactional
     public void delete(SoccerPlayer soccerPlayer) {
         entityManager.remove(soccerPlayer);
     }
 
+    @Transactional
     public void deleteAll(List<SoccerPlayer> soccerPlayers) {
         soccerPlayers.forEach(this::delete);
     }
 
+    @Transactional
+    public int bulkDeleteAllById(Collection<Long> ids) {
+        return bulkDeleteAllById(ids, defaultDeleteChunkSize);
+    }
+
+    @Transactional
+    public int bulkDeleteAllById(Collection<Long> ids, int chunkSize) {
+        countCache.invalidate(SoccerPlayer.class);
+        return ChunkedDeletes.deleteAllById(entityManager, SoccerPlayer.class, ids, chunkSize);
+    }
+
+    @Transactional
+    public int bulkDelete(Specification<SoccerPlayer> specification) {
+        return bulkDelete(specification, defaultDeleteChunkSize);
+    }
+
+    @Transactional
+    public int bulkDelete(Specification<SoccerPlayer> specification, int chunkSize) {
+        countCache.invalidate(SoccerPlayer.class);
+        return ChunkedDeletes.delete(entityManager, SoccerPlayer.class, specification, chunkSize);
+    }
+
     public List<SoccerPlayer> findAll() {
         return entityManager.createQuery(
                 "SELECT SC FROM SoccerPlayer SC", SoccerPlayer.class)
                 .getResultList();
     }
 
+    public Stream<SoccerPlayer> streamAll(int fetchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        return DetachingStreams.stream(session, session.createQuery(
+                "SELECT SC FROM SoccerPlayer SC", SoccerPlayer.class), fetchSize);
+    }
+
     public Optional<SoccerPlayer> findOptionalById(Long id) {
         return Optional.ofNullable(findEntityById(id));
     }
@@ -100,25 +178,82 @@ public class SoccerPlayerPureRepository {
                 .setMaxResults(size)
                 .getResultList();
 
-        long totalCount = entityManager.createQuery(
-                "SELECT COUNT(SP) " +
-                        "FROM SoccerPlayer SP " +
-                        "ORDER BY SP.height DESC ", Long.class)
-                .getSingleResult();
+        String countQuery = "SELECT COUNT(SP) FROM SoccerPlayer SP";
+        long totalCount = countCache.get(SoccerPlayer.class, countQuery, List.of(),
+                () -> entityManager.createQuery(countQuery, Long.class).getSingleResult());
         Sort sort = Sort.by(Sort.Direction.DESC, "height");
         Pageable pageable = PageRequest.of(page, size, sort);
 
         return new PageImpl<>(content, pageable, totalCount);
     }
 
+    @SuppressWarnings("unchecked")
+    public Page<SoccerPlayer> findAllPageWithWindowCount(int page, int size) {
+        List<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT {SP.*}, COUNT(*) OVER() AS total_count " +
+                        "FROM soccer_player SP " +
+                        "ORDER BY SP.height DESC ")
+                .unwrap(NativeQuery.class)
+                .addEntity("SP", SoccerPlayer.class)
+                .addScalar("total_count", StandardBasicTypes.LONG)
+                .setFirstResult(size * page)
+                .setMaxResults(size)
+                .getResultList();
+
+        List<SoccerPlayer> content = new ArrayList<>();
+        rows.forEach(row -> content.add((SoccerPlayer) row[0]));
+        Sort sort = Sort.by(Sort.Direction.DESC, "height");
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> rows.isEmpty() ? count() : (Long) rows.get(0)[1]);
+    }
+
+    public KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> findAllKeyset(SoccerPlayerKeyset keyset, int size) {
+        List<SoccerPlayer> content = entityManager.createQuery(
+                "SELECT SP " +
+                        "FROM SoccerPlayer SP " +
+                        "WHERE SP.height < :height " +
+                        "   OR (SP.height = :height AND SP.id < :id) " +
+                        "ORDER BY SP.height DESC, SP.id DESC ", SoccerPlayer.class)
+                .setParameter("height", keyset.getHeight())
+                .setParameter("id", keyset.getId())
+                .setMaxResults(size + 1)
+                .getResultList();
+        return KeysetSlice.of(content, size, SoccerPlayerKeyset::of);
+    }
+
+    @Transactional
     public int bulkUpdate(int height) {
+        countCache.invalidate(SoccerPlayer.class);
         return entityManager.createQuery(
-                "UPDATE SoccerPlayer SP SET SP.weight = SP.weight + 10 " +
+                "UPDATE SoccerPlayer SP SET SP.weight = SP.weight + 10, SP.version = SP.version + 1 " +
                         "WHERE SP.height > :height")
                 .setParameter("height", height)
                 .executeUpdate();
     }
 
+    @Transactional
+    public int bulkUpdate(BulkUpdate<SoccerPlayer> update) {
+        countCache.invalidate(SoccerPlayer.class);
+        return update.execute(entityManager);
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public SoccerPlayer increaseWeight(Long id, int amount) {
+        SoccerPlayer soccerPlayer = entityManager.find(SoccerPlayer.class, id);
+        soccerPlayer.setWeight(soccerPlayer.getWeight() + amount);
+        return soccerPlayer;
+    }
+
+    @Transactional
+    public SoccerPlayer increaseWeightUsingLock(Long id, int amount) {
+        SoccerPlayer soccerPlayer = entityManager.find(SoccerPlayer.class, id, LockModeType.PESSIMISTIC_WRITE);
+        soccerPlayer.setWeight(soccerPlayer.getWeight() + amount);
+        return soccerPlayer;
+    }
+
     public SoccerPlayer findByName(String name) {
         return entityManager.createQuery(
                 "SELECT SP FROM SoccerPlayer SP WHERE SP.name = :name", SoccerPlayer.class)
@@ -1,38 +1,76 @@
 package com.roy.datajpa.repository.pure;
 
 import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.support.ChunkedDeletes;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
+@Transactional(readOnly = true)
 public class TeamPureRepository {
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${datajpa.bulk-delete.chunk-size:1000}")
+    private int defaultDeleteChunkSize;
+
+    @Transactional
     public Team save(Team team) {
         entityManager.persist(team);
         return team;
     }
 
+    @Transactional
     public List<Team> saveAll(List<Team> teams) {
         List<Team> answer = new ArrayList<>();
         teams.forEach(team -> answer.add(save(team)));
         return answer;
     }
 
+    @Transactional
     public void delete(Team team) {
         entityManager.remove(team);
     }
 
+    @Transactional
     public void deleteAll(List<Team> teams) {
         teams.forEach(this::delete);
     }
 
+    @Transactional
+    public int bulkDeleteAllById(Collection<Long> ids) {
+        return bulkDeleteAllById(ids, defaultDeleteChunkSize);
+    }
+
+    /**
+     * 팀을 참조하는 축구선수가 남아 있으면 외래 키 제약으로 실패하므로 먼저 정리해야 한다.
+     */
+    @Transactional
+    public int bulkDeleteAllById(Collection<Long> ids, int chunkSize) {
+        return ChunkedDeletes.deleteAllById(entityManager, Team.class, ids, chunkSize);
+    }
+
+    @Transactional
+    public int bulkDelete(Specification<Team> specification) {
+        return bulkDelete(specification, defaultDeleteChunkSize);
+    }
+
+    @Transactional
+    public int bulkDelete(Specification<Team> specification, int chunkSize) {
+        return ChunkedDeletes.delete(entityManager, Team.class, specification, chunkSize);
+    }
+
     public List<Team> findAll() {
         return entityManager.createQuery(
                 "SELECT T FROM Team T", Team.class)
@@ -47,6 +85,15 @@ public class TeamPureRepository {
         return entityManager.find(Team.class, id);
     }
 
+    public Optional<Team> findByName(String name) {
+        return entityManager.createQuery(
+                "SELECT T FROM Team T WHERE T.name = :name", Team.class)
+                .setParameter("name", name)
+                .setHint(HINT_CACHEABLE, true)
+                .getResultStream()
+                .findFirst();
+    }
+
     public long count() {
         return entityManager.createQuery("SELECT COUNT(T) FROM Team T", Long.class)
                 .getSingleResult();
@@ -0,0 +1,54 @@
+package com.roy.datajpa.repository.support;
+
+import org.hibernate.Hibernate;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * batchSize 건마다 flush 후 clear 하여 영속성 컨텍스트를 batchSize 이하로 유지하면서 JDBC 배치로 저장한다.
+ * clear 는 영속성 컨텍스트 전체를 비우기 때문에 호출 전에 같은 트랜잭션에서 조회하거나 저장한 엔티티도 모두 준영속 상태가 된다.
+ * 저장 후에도 관리 상태가 필요한 엔티티는 다시 조회해야 한다.
+ */
+public class BatchInserts {
+
+    private BatchInserts() {}
+
+    public static <T> int persistAll(EntityManager entityManager, Collection<T> entities,
+                                     int batchSize, Consumer<T> beforePersist) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        int savedCount = 0;
+        for (T entity : entities) {
+            beforePersist.accept(entity);
+            entityManager.persist(entity);
+            if (++savedCount % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return savedCount;
+    }
+
+    /**
+     * clear 이후 준영속 상태가 된 연관 엔티티가 persist 전이 대상이 되지 않도록 프록시로 교체한다.
+     * 아직 저장되지 않았거나 관리 상태인 엔티티는 그대로 돌려준다.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> E managedReference(EntityManager entityManager, E entity, Function<E, ?> idGetter) {
+        if (entity == null || entityManager.contains(entity)) {
+            return entity;
+        }
+        Object id = idGetter.apply(entity);
+        if (id == null) {
+            return entity;
+        }
+        return entityManager.getReference((Class<E>) Hibernate.getClass(entity), id);
+    }
+
+}
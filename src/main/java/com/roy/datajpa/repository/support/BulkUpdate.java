@@ -0,0 +1,197 @@
+package com.roy.datajpa.repository.support;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Specification 으로 대상을 고르고 set 으로 지정한 컬럼을 갱신하는 집합 단위 UPDATE.
+ * 대상 식별자를 chunkSize 개씩 식별자 순으로 조회하여 청크마다 UPDATE ... WHERE id IN (...) 한 번을 실행하므로
+ * (청크마다 식별자 SELECT 와 UPDATE 두 문장) 큰 테이블에서도 한 문장이 오래 락을 잡지 않는다.
+ * 식별자를 조회한 뒤 다른 트랜잭션이 행을 바꾸었을 수 있으므로 UPDATE 에서도 Specification 을 서브쿼리로 다시 확인한다.
+ * &#64;Version 속성이 있으면 함께 1 증가시키고, 갱신된 엔티티는 연관 엔티티로 전이하지 않고 영속성 컨텍스트에서 분리한다.
+ */
+public class BulkUpdate<T> {
+
+    private final Class<T> domainClass;
+    private final List<Assignment<T>> assignments = new ArrayList<>();
+    private Specification<T> specification;
+    private int chunkSize = 1000;
+
+    private BulkUpdate(Class<T> domainClass) {
+        this.domainClass = domainClass;
+    }
+
+    public static <T> BulkUpdate<T> of(Class<T> domainClass) {
+        return new BulkUpdate<>(domainClass);
+    }
+
+    public BulkUpdate<T> where(Specification<T> specification) {
+        this.specification = specification;
+        return this;
+    }
+
+    public <Y> BulkUpdate<T> set(String attribute, Y value) {
+        assignments.add((update, root, criteriaBuilder) -> {
+            Path<Y> path = root.get(attribute);
+            if (value == null) {
+                update.set(path, criteriaBuilder.nullLiteral(path.getJavaType()));
+            } else {
+                update.set(path, value);
+            }
+        });
+        return this;
+    }
+
+    public <Y> BulkUpdate<T> set(String attribute,
+                                 BiFunction<Root<T>, CriteriaBuilder, Expression<? extends Y>> expression) {
+        assignments.add((update, root, criteriaBuilder) ->
+                update.set(root.<Y>get(attribute), expression.apply(root, criteriaBuilder)));
+        return this;
+    }
+
+    public BulkUpdate<T> increment(String attribute, Number delta) {
+        assignments.add((update, root, criteriaBuilder) -> {
+            Path<Number> path = root.get(attribute);
+            update.set(path, criteriaBuilder.sum(path, delta));
+        });
+        return this;
+    }
+
+    public BulkUpdate<T> chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * 현재 트랜잭션에서 실행하고 갱신된 행 수를 반환한다.
+     * 2차 캐시는 Hibernate 가 bulk 연산을 실행할 때 해당 엔티티 리전을 비운다.
+     */
+    public int execute(EntityManager entityManager) {
+        if (assignments.isEmpty()) {
+            throw new IllegalStateException("No assignments for bulk update of " + domainClass.getSimpleName());
+        }
+        entityManager.flush();
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        String idAttribute = entityType.getId(entityType.getIdType().getJavaType()).getName();
+
+        int updatedCount = 0;
+        Comparable<Object> lastId = null;
+        while (true) {
+            List<Comparable<Object>> ids = findNextIds(entityManager, idAttribute, lastId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            updatedCount += update(entityManager, entityType, idAttribute, ids);
+            detach(entityManager, ids);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        return updatedCount;
+    }
+
+    private List<Comparable<Object>> findNextIds(EntityManager entityManager, String idAttribute,
+                                                 Comparable<Object> lastId) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        @SuppressWarnings("unchecked")
+        CriteriaQuery<Comparable<Object>> query = (CriteriaQuery<Comparable<Object>>) (CriteriaQuery<?>)
+                criteriaBuilder.createQuery(Comparable.class);
+        Root<T> root = query.from(domainClass);
+        Path<Comparable<Object>> id = root.get(idAttribute);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = Specification.where(specification).toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (lastId != null) {
+            predicates.add(criteriaBuilder.greaterThan(id, lastId));
+        }
+        query.select(id)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.asc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(chunkSize)
+                .getResultList();
+    }
+
+    private int update(EntityManager entityManager, EntityType<T> entityType, String idAttribute,
+                       List<Comparable<Object>> ids) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = criteriaBuilder.createCriteriaUpdate(domainClass);
+        Root<T> root = update.from(domainClass);
+        assignments.forEach(assignment -> assignment.apply(update, root, criteriaBuilder));
+        incrementVersion(entityType, update, root, criteriaBuilder);
+
+        Subquery<Object> matching = update.subquery(Object.class);
+        Root<T> matchingRoot = matching.from(domainClass);
+        Predicate predicate = Specification.where(specification)
+                .toPredicate(matchingRoot, criteriaBuilder.createQuery(), criteriaBuilder);
+        if (predicate == null) {
+            update.where(root.get(idAttribute).in(ids));
+        } else {
+            matching.select(matchingRoot.get(idAttribute)).where(predicate);
+            update.where(root.get(idAttribute).in(ids), root.get(idAttribute).in(matching));
+        }
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private void incrementVersion(EntityType<T> entityType, CriteriaUpdate<T> update, Root<T> root,
+                                  CriteriaBuilder criteriaBuilder) {
+        for (SingularAttribute<? super T, ?> attribute : entityType.getSingularAttributes()) {
+            if (!attribute.isVersion()) {
+                continue;
+            }
+            Class<?> type = attribute.getJavaType();
+            Path<Number> version = root.get(attribute.getName());
+            if (type == Long.class || type == long.class) {
+                update.set(version, criteriaBuilder.sum(version, 1L));
+            } else if (type == Integer.class || type == int.class) {
+                update.set(version, criteriaBuilder.sum(version, 1));
+            }
+        }
+    }
+
+    /**
+     * 갱신된 엔티티만 영속성 컨텍스트에서 분리하여 이후 조회 시 변경된 값을 다시 읽도록 한다.
+     * detach 는 cascade = ALL 인 연관 엔티티까지 분리하므로 전이하지 않는 Evictions 를 사용한다.
+     */
+    private void detach(EntityManager entityManager, List<Comparable<Object>> ids) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(domainClass);
+        for (Comparable<Object> id : ids) {
+            Object entity = session.getPersistenceContextInternal()
+                    .getEntity(session.generateEntityKey((Serializable) id, persister));
+            if (entity != null) {
+                Evictions.evict(session, entity);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Assignment<T> {
+        void apply(CriteriaUpdate<T> update, Root<T> root, CriteriaBuilder criteriaBuilder);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.roy.datajpa.repository.support;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 식별자를 chunkSize 개씩 나누어 청크마다 DELETE ... WHERE id IN (...) 한 번을 실행한다.
+ * &#64;Modifying(clearAutomatically = true) 와 같이 실행 전에 flush 하고 실행 후 영속성 컨텍스트를 비운다.
+ * 엔티티를 읽지 않고 지우기 때문에 cascade 와 엔티티 리스너, 고아 객체 제거는 적용되지 않으며,
+ * 연관된 엔티티는 호출자가 따로 정리해야 한다.
+ */
+public class ChunkedDeletes {
+
+    private ChunkedDeletes() {}
+
+    public static int deleteAllById(EntityManager entityManager, Class<?> domainClass,
+                                    Collection<?> ids, int chunkSize) {
+        entityManager.flush();
+        String jpql = deleteByIdsQuery(entityManager, domainClass);
+        int deletedCount = 0;
+        for (List<?> chunk : Chunks.partition(ids, chunkSize)) {
+            deletedCount += delete(entityManager, jpql, chunk);
+        }
+        entityManager.clear();
+        return deletedCount;
+    }
+
+    /**
+     * 대상 식별자를 식별자 순으로 chunkSize 개씩 조회하고 바로 삭제하므로 전체 식별자를 한 번에 메모리에 올리지 않는다.
+     */
+    public static <T> int delete(EntityManager entityManager, Class<T> domainClass,
+                                 Specification<T> specification, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        entityManager.flush();
+        String jpql = deleteByIdsQuery(entityManager, domainClass);
+        String idAttribute = idAttribute(entityManager, domainClass);
+        int deletedCount = 0;
+        Comparable<Object> lastId = null;
+        while (true) {
+            List<Comparable<Object>> ids = findNextIds(
+                    entityManager, domainClass, specification, idAttribute, lastId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            deletedCount += delete(entityManager, jpql, ids);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        entityManager.clear();
+        return deletedCount;
+    }
+
+    private static <T> List<Comparable<Object>> findNextIds(EntityManager entityManager, Class<T> domainClass,
+                                                            Specification<T> specification, String idAttribute,
+                                                            Comparable<Object> lastId, int chunkSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        @SuppressWarnings("unchecked")
+        CriteriaQuery<Comparable<Object>> query = (CriteriaQuery<Comparable<Object>>) (CriteriaQuery<?>)
+                criteriaBuilder.createQuery(Comparable.class);
+        Root<T> root = query.from(domainClass);
+        Path<Comparable<Object>> id = root.get(idAttribute);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = Specification.where(specification).toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (lastId != null) {
+            predicates.add(criteriaBuilder.greaterThan(id, lastId));
+        }
+        query.select(id)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.asc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(chunkSize)
+                .getResultList();
+    }
+
+    private static int delete(EntityManager entityManager, String jpql, List<?> ids) {
+        return entityManager.createQuery(jpql)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    private static String deleteByIdsQuery(EntityManager entityManager, Class<?> domainClass) {
+        String entityName = entityManager.getMetamodel().entity(domainClass).getName();
+        return "DELETE FROM " + entityName + " E WHERE E." + idAttribute(entityManager, domainClass) + " IN :ids";
+    }
+
+    private static String idAttribute(EntityManager entityManager, Class<?> domainClass) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(domainClass);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+}
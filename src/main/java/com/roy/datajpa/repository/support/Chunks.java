@@ -0,0 +1,23 @@
+package com.roy.datajpa.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class Chunks {
+
+    private Chunks() {}
+
+    public static <T> List<List<T>> partition(Collection<T> values, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        List<T> source = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < source.size(); from += chunkSize) {
+            chunks.add(source.subList(from, Math.min(from + chunkSize, source.size())));
+        }
+        return chunks;
+    }
+
+}
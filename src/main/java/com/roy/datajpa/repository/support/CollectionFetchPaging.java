@@ -0,0 +1,117 @@
+package com.roy.datajpa.repository.support;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
+/**
+ * 컬렉션(@OneToMany)을 fetch join 하는 페이징을 두 단계로 나누어 실행한다.
+ * 컬렉션 fetch join 에 limit/offset 을 걸면 Hibernate 가 전체 결과를 메모리에 올린 뒤 페이징하므로(HHH000104),
+ * 먼저 루트 식별자만 페이징하여 조회하고 그 식별자들에 대해서만 IN 쿼리로 컬렉션을 fetch join 한다.
+ * 여러 컬렉션은 카테시안 곱과 MultipleBagFetchException 을 피하도록 컬렉션마다 한 번씩 조회한다.
+ */
+public class CollectionFetchPaging {
+
+    private CollectionFetchPaging() {}
+
+    public static <T> Page<T> findPage(EntityManager entityManager, Class<T> domainClass,
+                                       Specification<T> specification, Pageable pageable,
+                                       String... collectionAttributes) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        String idAttribute = entityType.getId(entityType.getIdType().getJavaType()).getName();
+
+        List<Object> ids = findPageIds(entityManager, domainClass, idAttribute, specification, pageable);
+        List<T> content = fetchCollections(entityManager, domainClass, idAttribute, ids, collectionAttributes);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> count(entityManager, domainClass, specification));
+    }
+
+    private static <T> List<Object> findPageIds(EntityManager entityManager, Class<T> domainClass, String idAttribute,
+                                                Specification<T> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = criteriaBuilder.createQuery(Object.class);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = Specification.where(specification).toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // 정렬 값이 같은 행이 있어도 페이지 경계가 흔들리지 않도록 식별자를 마지막 정렬 기준으로 둔다.
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        orders.add(criteriaBuilder.asc(root.get(idAttribute)));
+        query.select(root.get(idAttribute)).orderBy(orders);
+
+        TypedQuery<Object> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private static <T> List<T> fetchCollections(EntityManager entityManager, Class<T> domainClass, String idAttribute,
+                                                List<Object> ids, String... collectionAttributes) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        List<T> entities = Collections.emptyList();
+        for (int i = 0; i < Math.max(collectionAttributes.length, 1); i++) {
+            CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+            Root<T> root = query.from(domainClass);
+            if (collectionAttributes.length > 0) {
+                root.fetch(collectionAttributes[i], JoinType.LEFT);
+            }
+            query.select(root)
+                    .distinct(true)
+                    .where(root.get(idAttribute).in(ids));
+            entities = entityManager.createQuery(query)
+                    .setHint(HINT_PASS_DISTINCT_THROUGH, false)
+                    .getResultList();
+        }
+        return orderByIds(entityManager.getEntityManagerFactory().getPersistenceUnitUtil(), ids, entities);
+    }
+
+    private static <T> List<T> orderByIds(PersistenceUnitUtil persistenceUnitUtil, List<Object> ids, List<T> entities) {
+        Map<Object, T> entitiesById = entities.stream()
+                .collect(Collectors.toMap(persistenceUnitUtil::getIdentifier, Function.identity()));
+        return ids.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static <T> long count(EntityManager entityManager, Class<T> domainClass, Specification<T> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = Specification.where(specification).toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(criteriaBuilder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+}
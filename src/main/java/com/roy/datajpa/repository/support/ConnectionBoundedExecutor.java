@@ -0,0 +1,38 @@
+package com.roy.datajpa.repository.support;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 스레드 수에 제한이 없는 실행기(가상 스레드 등)에서 동시에 DB 작업을 하는 작업 수를 커넥션 풀 크기로 제한한다.
+ * 허가를 기다리는 동안 블로킹되는 것은 호출 스레드가 아니라 작업 스레드이다.
+ */
+public class ConnectionBoundedExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    public ConnectionBoundedExecutor(ExecutorService delegate, int maxConcurrency) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdown();
+    }
+
+}
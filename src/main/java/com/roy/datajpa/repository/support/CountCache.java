@@ -0,0 +1,139 @@
+package com.roy.datajpa.repository.support;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 쿼리와 파라미터를 키로 전체 건수를 TTL 동안 보관한다.
+ * TTL 이 0 이면 캐시하지 않고 매번 카운트 쿼리를 실행한다.
+ * 커밋된 상태만 캐시하기 위해 현재 트랜잭션에서 저장, 삭제한 엔티티의 카운트는 캐시에서 읽지도 넣지도 않고,
+ * 무효화는 트랜잭션이 커밋된 뒤에 적용한다.
+ * 캐시를 거치는 것은 get 으로 직접 감싼 카운트뿐이며, Spring Data 쿼리 메서드가 만드는 Page 의 카운트 쿼리는 캐시하지 않는다.
+ */
+@Component
+public class CountCache {
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public CountCache(@Value("${datajpa.count-cache.ttl:0s}") Duration ttl,
+                      @Value("${datajpa.count-cache.max-entries:1000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public long get(Class<?> entityType, String query, List<?> parameters, LongSupplier counter) {
+        if (ttlNanos <= 0 || isWrittenInCurrentTransaction(entityType)) {
+            return counter.getAsLong();
+        }
+        Key key = new Key(entityType, query, parameters);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.expiresAt < 0) {
+            return entry.count;
+        }
+        long generation = generation(entityType).get();
+        long count = counter.getAsLong();
+        // 카운트 쿼리의 자동 flush 로 이 트랜잭션의 쓰기가 드러났다면 커밋되지 않은 값이므로 넣지 않는다
+        if (isWrittenInCurrentTransaction(entityType)) {
+            return count;
+        }
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        Entry created = new Entry(count, now + ttlNanos);
+        entries.put(key, created);
+        // 카운트하는 사이 다른 트랜잭션이 커밋하며 무효화했다면 이전 값일 수 있으므로 되돌린다
+        if (generation(entityType).get() != generation) {
+            entries.remove(key, created);
+        }
+        return count;
+    }
+
+    /**
+     * 트랜잭션 안에서는 커밋 이후에 무효화하고, 커밋 전까지 이 트랜잭션은 해당 엔티티의 카운트를 캐시하지 않는다.
+     */
+    public void invalidate(Class<?> entityType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(entityType);
+            return;
+        }
+        WrittenTypes writtenTypes = (WrittenTypes) TransactionSynchronizationManager.getResource(this);
+        if (writtenTypes == null) {
+            writtenTypes = new WrittenTypes();
+            TransactionSynchronizationManager.bindResource(this, writtenTypes);
+            TransactionSynchronizationManager.registerSynchronization(writtenTypes);
+        }
+        writtenTypes.entityTypes.add(entityType);
+    }
+
+    private boolean isWrittenInCurrentTransaction(Class<?> entityType) {
+        WrittenTypes writtenTypes = (WrittenTypes) TransactionSynchronizationManager.getResource(this);
+        return writtenTypes != null && writtenTypes.entityTypes.contains(entityType);
+    }
+
+    private void evict(Class<?> entityType) {
+        generation(entityType).incrementAndGet();
+        entries.keySet().removeIf(key -> key.entityType.equals(entityType));
+    }
+
+    private AtomicLong generation(Class<?> entityType) {
+        return generations.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+
+    private class WrittenTypes implements TransactionSynchronization {
+
+        private final Set<Class<?>> entityTypes = new HashSet<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(CountCache.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(CountCache.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            entityTypes.forEach(CountCache.this::evict);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CountCache.this);
+        }
+
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final Class<?> entityType;
+        private final String query;
+        private final List<?> parameters;
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final long count;
+        private final long expiresAt;
+    }
+
+}
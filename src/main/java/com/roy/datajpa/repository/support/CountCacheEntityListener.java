@@ -0,0 +1,25 @@
+package com.roy.datajpa.repository.support;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+
+/**
+ * 저장, 삭제로 건수가 바뀌면 해당 엔티티의 캐시된 카운트를 트랜잭션 커밋 후 무효화한다.
+ * Hibernate 가 SpringBeanContainer 를 통해 생성하므로 생성자 주입을 사용할 수 있다.
+ */
+@RequiredArgsConstructor
+public class CountCacheEntityListener {
+
+    private final CountCache countCache;
+
+    // 무효화는 커밋 후에 적용되므로, flush 전이라도 이 트랜잭션이 캐시를 쓰지 않도록 persist, remove 시점에 기록한다
+    @PrePersist
+    @PreRemove
+    public void invalidate(Object entity) {
+        countCache.invalidate(Hibernate.getClass(entity));
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.roy.datajpa.repository.support;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.Query;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 전진 전용 커서로 엔티티를 한 건씩 읽고, 다음 건으로 넘어갈 때 이전 엔티티를 준영속 상태로 만든다.
+ * 영속성 컨텍스트에는 항상 한 건만 남기 때문에 전체 건수와 무관하게 메모리 사용량이 일정하다.
+ * 분리는 연관 엔티티로 전이하지 않으므로 여러 건이 공유하는 팀 같은 부모는 관리 상태로 남는다.
+ * 반환된 Stream 은 반드시 닫아야 커서와 커넥션 자원이 반납된다.
+ */
+public class DetachingStreams {
+
+    private DetachingStreams() {}
+
+    public static <T> Stream<T> stream(Session session, Query<T> query, int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive: " + fetchSize);
+        }
+        ScrollableResults results = query
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        DetachingSpliterator<T> spliterator = new DetachingSpliterator<>(
+                session.unwrap(SessionImplementor.class), results);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(spliterator::close);
+    }
+
+    private static class DetachingSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final SessionImplementor session;
+        private final ScrollableResults results;
+        private T previous;
+
+        private DetachingSpliterator(SessionImplementor session, ScrollableResults results) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.session = session;
+            this.results = results;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            detachPrevious();
+            if (!results.next()) {
+                return false;
+            }
+            previous = (T) results.get(0);
+            action.accept(previous);
+            return true;
+        }
+
+        private void detachPrevious() {
+            if (previous != null) {
+                Evictions.evict(session, previous);
+                previous = null;
+            }
+        }
+
+        private void close() {
+            detachPrevious();
+            results.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.roy.datajpa.repository.support;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.internal.EvictVisitor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+
+/**
+ * Session.evict, EntityManager.detach 와 달리 연관 엔티티로 전이(cascade)하지 않고 주어진 엔티티만 영속성 컨텍스트에서 분리한다.
+ * cascade = ALL 로 여러 엔티티가 공유하는 부모(팀 등)까지 분리되면, 같은 부모를 참조하는 다른 관리 엔티티를
+ * flush 할 때 준영속 엔티티로 persist 가 전이되어 실패하기 때문이다.
+ * Hibernate 의 DefaultEvictEventListener 에서 cascade 만 뺀 동작이다.
+ */
+public class Evictions {
+
+    private Evictions() {}
+
+    public static void evict(SessionImplementor session, Object entity) {
+        PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+        EntityEntry entry = persistenceContext.removeEntry(entity);
+        if (entry == null) {
+            return;
+        }
+        EntityKey key = entry.getEntityKey();
+        persistenceContext.removeEntity(key);
+        Object proxy = persistenceContext.removeProxy(key);
+        if (proxy instanceof HibernateProxy) {
+            ((HibernateProxy) proxy).getHibernateLazyInitializer().unsetSession();
+        }
+        EntityPersister persister = entry.getPersister();
+        if (persister.hasCollections()) {
+            // 엔티티가 가진 컬렉션도 함께 분리해야 flush 시 도달할 수 없는 컬렉션으로 처리되지 않는다
+            new EvictVisitor((EventSource) session, entity).processEntityPropertyValues(
+                    persister.getPropertyValues(entity), persister.getPropertyTypes());
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.roy.datajpa.repository.support;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 호출 시점에 적용할 fetch graph, 엔티티 타입과 이름 또는 속성 경로 집합(모양)으로 식별된다.
+ * 경로는 "team", "team.soccerPlayers" 처럼 점으로 하위 속성을 나타내며 순서는 무관하다.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class FetchGraph {
+
+    private final Class<?> rootType;
+    private final String name;
+    private final Set<String> attributePaths;
+
+    private FetchGraph(Class<?> rootType, String name, Set<String> attributePaths) {
+        this.rootType = rootType;
+        this.name = name;
+        this.attributePaths = attributePaths;
+    }
+
+    /**
+     * &#64;NamedEntityGraph 로 정의된 그래프
+     */
+    public static FetchGraph named(Class<?> rootType, String name) {
+        return new FetchGraph(rootType, name, Collections.emptySet());
+    }
+
+    public static FetchGraph of(Class<?> rootType, String... attributePaths) {
+        return new FetchGraph(rootType, null,
+                Collections.unmodifiableSet(new TreeSet<>(Arrays.asList(attributePaths))));
+    }
+
+    public boolean isNamed() {
+        return name != null;
+    }
+
+}
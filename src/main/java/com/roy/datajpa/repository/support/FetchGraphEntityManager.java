@@ -0,0 +1,149 @@
+package com.roy.datajpa.repository.support;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.orm.jpa.EntityManagerProxy;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 레포지토리가 사용하는 EntityManager 를 감싸 FetchGraphs 로 지정된 그래프를 조회에 적용한다.
+ * 쿼리는 실행 직전에 힌트를 설정하므로 메서드에 선언된 @EntityGraph 힌트를 덮어쓴다.
+ */
+class FetchGraphEntityManager {
+
+    static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
+    private static final Set<String> QUERY_FACTORY_METHODS = Set.of("createQuery", "createNamedQuery");
+    // Spring Data 의 Stream 쿼리처럼 unwrap 한 Hibernate Query 로 scroll 하는 경우도 unwrap 시점에 힌트를 설정한다.
+    private static final Set<String> QUERY_EXECUTION_METHODS =
+            Set.of("getResultList", "getSingleResult", "getResultStream", "unwrap");
+
+    private FetchGraphEntityManager() {}
+
+    static EntityManager wrap(EntityManager entityManager, FetchGraphRegistry registry) {
+        return (EntityManager) Proxy.newProxyInstance(
+                FetchGraphEntityManager.class.getClassLoader(),
+                entityManager instanceof EntityManagerProxy
+                        ? new Class<?>[]{EntityManager.class, EntityManagerProxy.class}
+                        : new Class<?>[]{EntityManager.class},
+                new EntityManagerHandler(entityManager, registry));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static class EntityManagerHandler implements InvocationHandler {
+
+        private final EntityManager target;
+        private final FetchGraphRegistry registry;
+
+        private EntityManagerHandler(EntityManager target, FetchGraphRegistry registry) {
+            this.target = target;
+            this.registry = registry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            FetchGraph fetchGraph = FetchGraphs.current();
+            if (fetchGraph != null && method.getName().equals("find") && args[0] == fetchGraph.getRootType()) {
+                return find(fetchGraph, args);
+            }
+            Object result = FetchGraphEntityManager.invoke(target, method, args);
+            if (QUERY_FACTORY_METHODS.contains(method.getName()) && result instanceof Query) {
+                return Proxy.newProxyInstance(
+                        FetchGraphEntityManager.class.getClassLoader(),
+                        new Class<?>[]{result instanceof TypedQuery ? TypedQuery.class : Query.class},
+                        new QueryHandler((Query) result, target, registry));
+            }
+            return result;
+        }
+
+        /**
+         * find(Class, Object[, LockModeType][, Map]) 를 힌트를 담은 Map 을 받는 형태로 바꾸어 호출한다.
+         */
+        @SuppressWarnings("unchecked")
+        private Object find(FetchGraph fetchGraph, Object[] args) {
+            Map<String, Object> properties = new HashMap<>();
+            Object lastArg = args[args.length - 1];
+            if (lastArg instanceof Map) {
+                properties.putAll((Map<String, Object>) lastArg);
+            }
+            properties.put(FETCH_GRAPH_HINT, registry.resolve(target, fetchGraph));
+            Class<?> entityClass = (Class<?>) args[0];
+            if (args.length > 2 && args[2] instanceof LockModeType) {
+                return target.find(entityClass, args[1], (LockModeType) args[2], properties);
+            }
+            return target.find(entityClass, args[1], properties);
+        }
+
+    }
+
+    private static class QueryHandler implements InvocationHandler {
+
+        private final Query target;
+        private final EntityManager entityManager;
+        private final FetchGraphRegistry registry;
+
+        private QueryHandler(Query target, EntityManager entityManager, FetchGraphRegistry registry) {
+            this.target = target;
+            this.entityManager = entityManager;
+            this.registry = registry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (QUERY_EXECUTION_METHODS.contains(method.getName())) {
+                FetchGraph fetchGraph = FetchGraphs.current();
+                if (fetchGraph != null && returnsEntity(fetchGraph.getRootType())) {
+                    target.setHint(FETCH_GRAPH_HINT, registry.resolve(entityManager, fetchGraph));
+                }
+            }
+            Object result = FetchGraphEntityManager.invoke(target, method, args);
+            // setParameter 등 자기 자신을 반환하는 메서드도 감싼 쿼리를 반환해야 실행 시점을 가로챌 수 있다.
+            return result == target ? proxy : result;
+        }
+
+        /**
+         * 엔티티 하나를 반환하는 JPQL, Criteria 쿼리에만 그래프를 적용한다. 카운트, 프로젝션, 네이티브 쿼리는 제외된다.
+         */
+        @SuppressWarnings("deprecation")
+        private boolean returnsEntity(Class<?> rootType) {
+            org.hibernate.query.Query<?> query = target.unwrap(org.hibernate.query.Query.class);
+            if (query instanceof NativeQuery || isDml(query.getQueryString())) {
+                return false;
+            }
+            Type[] returnTypes = query.getReturnTypes();
+            return returnTypes.length == 1
+                    && returnTypes[0] instanceof EntityType
+                    && rootType.isAssignableFrom(returnTypes[0].getReturnedClass());
+        }
+
+        /**
+         * unwrap 은 UPDATE / DELETE 쿼리에도 호출될 수 있고, Hibernate 는 DML 의 getReturnTypes 호출을 예외로 처리한다.
+         */
+        private static boolean isDml(String queryString) {
+            String statement = queryString.stripLeading().toLowerCase(Locale.ROOT);
+            return statement.startsWith("update") || statement.startsWith("delete") || statement.startsWith("insert");
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.roy.datajpa.repository.support;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+
+import javax.persistence.EntityManager;
+
+/**
+ * 레포지토리가 FetchGraphs 로 지정된 fetch graph 를 적용하는 EntityManager 를 사용하도록 한다.
+ * 파생 쿼리, @Query, Specification, Query by Example, findById 모두 같은 EntityManager 를 거친다.
+ * 커스텀 프래그먼트는 주입받은 EntityManager 를 FetchGraphRegistry.wrap 으로 직접 감싸야 한다.
+ * FetchGraphs 는 스레드 단위이므로 다른 스레드에서 실행되는 조회(@Async, Executor 를 받는 청크 조회)에는 적용되지 않는다.
+ * TeamDataRepository 의 프래그먼트는 컬렉션을 직접 fetch join 하므로 감싸지 않는다.
+ */
+public class FetchGraphJpaRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
+        extends JpaRepositoryFactoryBean<T, S, ID> {
+
+    private FetchGraphRegistry fetchGraphRegistry;
+
+    public FetchGraphJpaRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
+        super(repositoryInterface);
+    }
+
+    @Autowired
+    public void setFetchGraphRegistry(FetchGraphRegistry fetchGraphRegistry) {
+        this.fetchGraphRegistry = fetchGraphRegistry;
+    }
+
+    @Override
+    protected RepositoryFactorySupport createRepositoryFactory(EntityManager entityManager) {
+        return super.createRepositoryFactory(FetchGraphEntityManager.wrap(entityManager, fetchGraphRegistry));
+    }
+
+}
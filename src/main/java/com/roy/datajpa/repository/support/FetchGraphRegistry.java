@@ -0,0 +1,81 @@
+package com.roy.datajpa.repository.support;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Subgraph;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * FetchGraph 의 모양별로 만든 EntityGraph 를 재사용한다.
+ * 만들어진 그래프는 EntityManagerFactory 범위이므로 여러 EntityManager 에서 함께 사용할 수 있고, 이후 수정하지 않는다.
+ */
+public class FetchGraphRegistry {
+
+    // 호출 지점마다 모양이 고정되어 있어 보통은 몇 개뿐이지만, 경로를 동적으로 조합하는 호출자를 대비해 상한을 둔다.
+    private static final int MAX_GRAPHS = 256;
+
+    private final Map<FetchGraph, EntityGraph<?>> graphs = new ConcurrentHashMap<>();
+
+    /**
+     * 커스텀 프래그먼트처럼 레포지토리 팩토리를 거치지 않고 주입받은 EntityManager 에도 FetchGraphs 를 적용할 때 사용한다.
+     */
+    public EntityManager wrap(EntityManager entityManager) {
+        return FetchGraphEntityManager.wrap(entityManager, this);
+    }
+
+    /**
+     * 캐시가 가득 차면 이미 캐시된 모양은 그대로 재사용하고, 새 모양은 저장하지 않고 호출마다 만든다.
+     */
+    public EntityGraph<?> resolve(EntityManager entityManager, FetchGraph fetchGraph) {
+        EntityGraph<?> entityGraph = graphs.get(fetchGraph);
+        if (entityGraph != null) {
+            return entityGraph;
+        }
+        if (graphs.size() >= MAX_GRAPHS) {
+            return create(entityManager, fetchGraph);
+        }
+        return graphs.computeIfAbsent(fetchGraph, graph -> create(entityManager, graph));
+    }
+
+    private EntityGraph<?> create(EntityManager entityManager, FetchGraph fetchGraph) {
+        if (fetchGraph.isNamed()) {
+            return entityManager.getEntityGraph(fetchGraph.getName());
+        }
+        EntityGraph<?> entityGraph = entityManager.createEntityGraph(fetchGraph.getRootType());
+        addAttributePaths(fetchGraph.getAttributePaths(), entityGraph::addAttributeNodes, entityGraph::addSubgraph);
+        return entityGraph;
+    }
+
+    /**
+     * 경로의 첫 속성별로 묶어 같은 속성의 subgraph 를 한 번만 만든다.
+     */
+    private static void addAttributePaths(Collection<String> attributePaths,
+                                          Consumer<String> addAttributeNode,
+                                          Function<String, Subgraph<?>> addSubgraph) {
+        Map<String, List<String>> childPaths = new LinkedHashMap<>();
+        for (String attributePath : attributePaths) {
+            int separator = attributePath.indexOf('.');
+            String attribute = separator < 0 ? attributePath : attributePath.substring(0, separator);
+            List<String> children = childPaths.computeIfAbsent(attribute, key -> new ArrayList<>());
+            if (separator >= 0) {
+                children.add(attributePath.substring(separator + 1));
+            }
+        }
+        childPaths.forEach((attribute, children) -> {
+            if (children.isEmpty()) {
+                addAttributeNode.accept(attribute);
+            } else {
+                Subgraph<?> subgraph = addSubgraph.apply(attribute);
+                addAttributePaths(children, subgraph::addAttributeNodes, subgraph::addSubgraph);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.roy.datajpa.repository.support;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드에서 실행되는 레포지토리 조회에 fetch graph 를 적용한다.
+ * <pre>
+ * List&lt;SoccerPlayer&gt; players = FetchGraphs.with(FetchGraph.of(SoccerPlayer.class, "team"),
+ *         () -&gt; dataRepository.findAll(specification));
+ * </pre>
+ * 반환 타입이 그래프의 엔티티 타입인 조회에만 적용되며, 메서드에 선언된 @EntityGraph 보다 우선한다.
+ * 다른 스레드에서 실행되는 비동기 조회에는 전파되지 않는다.
+ */
+public class FetchGraphs {
+
+    private static final ThreadLocal<FetchGraph> CURRENT_GRAPH = new ThreadLocal<>();
+
+    private FetchGraphs() {}
+
+    public static <R> R with(FetchGraph fetchGraph, Supplier<R> call) {
+        FetchGraph previous = CURRENT_GRAPH.get();
+        CURRENT_GRAPH.set(fetchGraph);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_GRAPH.remove();
+            } else {
+                CURRENT_GRAPH.set(previous);
+            }
+        }
+    }
+
+    public static FetchGraph current() {
+        return CURRENT_GRAPH.get();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.roy.datajpa.repository.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌(OptimisticLockingFailureException)이 발생하면 새 트랜잭션으로 메서드를 다시 실행한다.
+ * 이미 시작된 트랜잭션 안에서 호출되면 재시도하지 않는다.
+ * 메서드 전체를 다시 실행하므로 엔티티를 직접 조회해서 수정하는 메서드처럼 다시 읽은 최신 상태에 변경을 적용하는 경우에만 붙인다.
+ * 호출자가 넘긴 준영속 엔티티를 merge 하는 save 는 같은 버전으로 다시 실패하고,
+ * 벌크 UPDATE / DELETE 는 버전을 검사하지 않으므로 적용 대상이 아니다.
+ * 재시도 대기 중 인터럽트되면 인터럽트 상태를 복구하고 마지막 충돌 예외를 던진다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    int maxAttempts() default 3;
+
+    /**
+     * 첫 재시도 전 대기 시간(ms), 재시도마다 multiplier 배씩 늘어난다.
+     */
+    long backoff() default 10;
+
+    double multiplier() default 2.0;
+
+    long maxBackoff() default 1000;
+
+}
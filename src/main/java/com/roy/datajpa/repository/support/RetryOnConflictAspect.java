@@ -0,0 +1,54 @@
+package com.roy.datajpa.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 트랜잭션 어드바이스보다 바깥에서 실행되어야 재시도마다 새 트랜잭션과 영속성 컨텍스트를 사용한다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryOnConflictAspect {
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        long backoff = retryOnConflict.backoff();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    throw e;
+                }
+                log.debug("Optimistic lock conflict on {}, retry {}/{}",
+                        joinPoint.getSignature().toShortString(), attempt, retryOnConflict.maxAttempts() - 1);
+                // 같은 행을 두고 경쟁하는 스레드가 동시에 재시도하지 않도록 지터를 준다.
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+                } catch (InterruptedException interrupted) {
+                    // 인터럽트 상태를 복구하고 더 이상 재시도하지 않는다.
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(interrupted);
+                    throw e;
+                }
+                backoff = Math.min((long) (backoff * retryOnConflict.multiplier()), retryOnConflict.maxBackoff());
+            }
+        }
+    }
+
+}
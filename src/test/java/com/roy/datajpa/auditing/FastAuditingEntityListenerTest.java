@@ -0,0 +1,120 @@
+package com.roy.datajpa.auditing;
+
+import com.roy.datajpa.domain.DataBaseEntity;
+import com.roy.datajpa.domain.Director;
+import com.roy.datajpa.repository.data.DirectorDataRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class FastAuditingEntityListenerTest {
+
+    @Autowired
+    private AuditingProperties properties;
+
+    @Autowired
+    private CoarseClock clock;
+
+    @Autowired
+    private TransactionScopedAuditorAware<String> auditorAware;
+
+    @Autowired
+    private ObjectProvider<AuditingHandler> auditingHandler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DirectorDataRepository directorDataRepository;
+
+    @Test
+    @Transactional
+    @DisplayName("저장 시 FastAuditingEntityListener 로 생성 시각이 채워짐을 검증")
+    void persistTest() {
+        Director director = directorDataRepository.save(new Director("audited-director", "AuditedDirector"));
+
+        assertNotNull(director.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("AuditingHandler 와 같은 감사 필드를 채움을 검증")
+    void sameFieldsAsAuditingHandlerTest() {
+        FastAuditingEntityListener listener =
+                new FastAuditingEntityListener(properties, clock, auditorAware, auditingHandler);
+        AuditedRow fast = new AuditedRow();
+        AuditedRow handler = new AuditedRow();
+
+        listener.touchForCreate(fast);
+        auditingHandler.getObject().markCreated(handler);
+        assertNotNull(fast.getCreatedAt());
+        assertEquals(handler.getCreatedBy(), fast.getCreatedBy());
+        assertNull(fast.getUpdatedAt());
+        assertNull(fast.getUpdatedBy());
+
+        listener.touchForUpdate(fast);
+        auditingHandler.getObject().markModified(handler);
+        assertNotNull(fast.getUpdatedAt());
+        assertEquals(handler.getUpdatedBy(), fast.getUpdatedBy());
+    }
+
+    @Test
+    @DisplayName("감사자는 트랜잭션마다 한 번만 조회됨을 검증")
+    void transactionScopedAuditorTest() {
+        AtomicInteger lookups = new AtomicInteger();
+        TransactionScopedAuditorAware<String> auditor = new TransactionScopedAuditorAware<>(() -> {
+            lookups.incrementAndGet();
+            return Optional.of("Roy");
+        });
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 100; i++) {
+                assertEquals("Roy", auditor.getCurrentAuditor().orElseThrow());
+            }
+        });
+        assertEquals(1, lookups.get());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> auditor.getCurrentAuditor());
+        assertEquals(2, lookups.get());
+
+        // 트랜잭션 밖에서는 매번 조회한다.
+        auditor.getCurrentAuditor();
+        auditor.getCurrentAuditor();
+        assertEquals(4, lookups.get());
+    }
+
+    @Test
+    @DisplayName("CoarseClock 은 갱신 주기 동안 같은 시각을 반환함을 검증")
+    void coarseClockTest() {
+        Clock fixed = Clock.fixed(Instant.parse("2022-03-01T00:00:00Z"), ZoneId.of("UTC"));
+        CoarseClock coarseClock = new CoarseClock(fixed, Duration.ofHours(1));
+        try {
+            assertEquals(LocalDateTime.of(2022, 3, 1, 0, 0), coarseClock.now());
+            assertEquals(coarseClock.now(), coarseClock.getNow().orElseThrow());
+        } finally {
+            coarseClock.destroy();
+        }
+    }
+
+    static class AuditedRow extends DataBaseEntity {
+    }
+
+}
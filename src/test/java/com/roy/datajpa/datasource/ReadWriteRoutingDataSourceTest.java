@@ -0,0 +1,80 @@
+package com.roy.datajpa.datasource;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 인메모리 H2 세 개를 primary 와 레플리카 두 대로 사용한다.
+ * 레플리카에는 스키마가 없으므로 쓰기 쿼리가 레플리카로 가면 실패한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "datajpa.datasource.routing.enabled=true",
+        "datajpa.datasource.routing.replicas[0].url=jdbc:h2:mem:replica-0;DB_CLOSE_DELAY=-1",
+        "datajpa.datasource.routing.replicas[0].username=sa",
+        "datajpa.datasource.routing.replicas[1].url=jdbc:h2:mem:replica-1;DB_CLOSE_DELAY=-1",
+        "datajpa.datasource.routing.replicas[1].username=sa"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SoccerPlayerDataRepository dataRepository;
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 레플리카로 라운드 로빈 라우팅됨을 검증")
+    void readOnlyTransactionRoutesToReplicaTest() {
+        String firstUrl = currentUrl(true);
+        String secondUrl = currentUrl(true);
+
+        assertTrue(firstUrl.startsWith("jdbc:h2:mem:replica-"));
+        assertTrue(secondUrl.startsWith("jdbc:h2:mem:replica-"));
+        assertNotEquals(firstUrl, secondUrl);
+    }
+
+    @Test
+    @DisplayName("읽기/쓰기 트랜잭션은 primary 로 라우팅됨을 검증")
+    void readWriteTransactionRoutesToPrimaryTest() {
+        assertTrue(currentUrl(false).startsWith("jdbc:h2:mem:primary"));
+    }
+
+    @Test
+    @DisplayName("쓰기와 비관적 락 조회는 primary 에서 실행됨을 검증")
+    void writeQueriesStayOnPrimaryTest() {
+        SoccerPlayer soccerPlayer = dataRepository.save(new SoccerPlayer("Roy", 173, 73));
+
+        assertEquals(1, dataRepository.bulkUpdate(170));
+        assertEquals(1, dataRepository.findUsingLockByName("Roy").size());
+
+        dataRepository.deleteAllByIdInBatch(List.of(soccerPlayer.getId()));
+    }
+
+    private String currentUrl(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getURL()));
+    }
+
+}
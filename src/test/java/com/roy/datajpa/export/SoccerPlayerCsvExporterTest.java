@@ -0,0 +1,97 @@
+package com.roy.datajpa.export;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 파티션마다 별도 커넥션에서 조회하므로 커밋된 데이터로 검증한다.
+ */
+@SpringBootTest
+class SoccerPlayerCsvExporterTest {
+
+    @Autowired
+    private SoccerPlayerCsvExporter exporter;
+
+    @Autowired
+    private SoccerPlayerDataRepository dataRepository;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("식별자 구간별 병렬 CSV 내보내기와 완료된 파티션을 건너뛰는 재실행 테스트")
+    void exportTest() throws IOException {
+        List<SoccerPlayer> soccerPlayers = dataRepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> new SoccerPlayer("Export\"Roy," + i, 170 + i % 10, 70))
+                .collect(Collectors.toList()));
+        try {
+            long count = dataRepository.count();
+
+            ExportResult first = exporter.export(directory, 4);
+            assertEquals(0, first.getSkippedPartitions());
+            assertEquals(count, first.getRows());
+            assertEquals(count, exportedRows());
+            assertTrue(Files.readString(directory.resolve("part-00000.csv")).startsWith("id,name,height,weight\n"));
+            assertTrue(partFiles().stream().anyMatch(part -> read(part).contains("\"Export\"\"Roy,0\"")));
+
+            // 중단된 파티션 하나만 다시 내보낸다.
+            Files.delete(directory.resolve("part-00001.csv"));
+            ExportResult second = exporter.export(directory, 4);
+            assertEquals(1, second.getExportedPartitions());
+            assertEquals(first.getExportedPartitions() - 1, second.getSkippedPartitions());
+            assertEquals(count, exportedRows());
+        } finally {
+            dataRepository.deleteAllByIdInBatch(soccerPlayers.stream()
+                    .map(SoccerPlayer::getId)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("파티션 수가 0 이하이면 파일을 만들기 전에 거부한다")
+    void invalidPartitionCountTest() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> exporter.export(directory, 0));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private long exportedRows() throws IOException {
+        return partFiles().stream()
+                .mapToLong(part -> read(part).lines().count() - 1)
+                .sum();
+    }
+
+    private List<Path> partFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".csv"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.roy.datajpa.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class QueryPlanInspectorTest {
+
+    @Autowired
+    private QueryPlanInspector queryPlanInspector;
+
+    @Test
+    @DisplayName("인덱스를 사용하는 쿼리 메서드는 전체 테이블 스캔으로 보고되지 않음을 검증")
+    void indexedQueryMethodTest() {
+        QueryPlanInspection inspection = queryPlanInspector.inspect();
+        List<String> explainedSources = inspection.getExplainedSources();
+        List<String> fullScanSources = inspection.getFullScanSources();
+
+        // 실제로 EXPLAIN 되지 않은 메서드는 전체 테이블 스캔으로 보고되지 않으므로 먼저 검사 대상인지 확인한다
+        assertTrue(explainedSources.containsAll(List.of(
+                "SoccerPlayerDataRepository.findByNameAndHeightGreaterThan",
+                "SoccerPlayerDataRepository.findByHeightGreaterThanUsingNamedQuery",
+                "SoccerPlayerDataRepository.findOneByName",
+                "SoccerPlayerDataRepository.findUsingLockByName",
+                "TeamDataRepository.findByName",
+                "SoccerPlayerDataRepository.findEntityAllUsingQueryAnnotation")), explainedSources::toString);
+
+        assertFalse(fullScanSources.contains("SoccerPlayerDataRepository.findByNameAndHeightGreaterThan"));
+        assertFalse(fullScanSources.contains("SoccerPlayerDataRepository.findByHeightGreaterThanUsingNamedQuery"));
+        assertFalse(fullScanSources.contains("SoccerPlayerDataRepository.findOneByName"));
+        assertFalse(fullScanSources.contains("SoccerPlayerDataRepository.findUsingLockByName"));
+        assertFalse(fullScanSources.contains("TeamDataRepository.findByName"));
+        assertTrue(fullScanSources.contains("SoccerPlayerDataRepository.findEntityAllUsingQueryAnnotation"));
+        assertFalse(explainedSources.contains("SoccerPlayerDataRepository.findAllBySearchCondition"));
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.roy.datajpa.monitoring;
+
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import com.roy.datajpa.repository.pure.SoccerPlayerPureRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@SpringBootTest
+class RepositoryMetricsTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SoccerPlayerDataRepository dataRepository;
+
+    @Autowired
+    private SoccerPlayerPureRepository pureRepository;
+
+    @Test
+    @DisplayName("Spring Data 레포지토리 메서드별 메트릭 기록 테스트")
+    void dataRepositoryMetricsTest() {
+        Team team = new Team("TeamA");
+        dataRepository.saveAll(List.of(
+                new SoccerPlayer("Roy", 173, 73, team),
+                new SoccerPlayer("Perry", 183, 83, team)
+        ));
+        entityManager.flush();
+        entityManager.clear();
+
+        String repository = "SoccerPlayerDataRepository";
+        String method = "findByNameAndHeightGreaterThan";
+        long invocations = invocationCount(repository, method);
+        double rows = summaryTotal(RepositoryMetrics.ROWS, repository, method);
+        double statements = summaryTotal(RepositoryMetrics.STATEMENTS, repository, method);
+        double hydratedEntities = summaryTotal(RepositoryMetrics.HYDRATED_ENTITIES, repository, method);
+
+        dataRepository.findByNameAndHeightGreaterThan("Roy", 170);
+
+        assertEquals(invocations + 1, invocationCount(repository, method));
+        assertEquals(rows + 1, summaryTotal(RepositoryMetrics.ROWS, repository, method));
+        assertEquals(statements + 1, summaryTotal(RepositoryMetrics.STATEMENTS, repository, method));
+        assertEquals(hydratedEntities + 1, summaryTotal(RepositoryMetrics.HYDRATED_ENTITIES, repository, method));
+    }
+
+    @Test
+    @DisplayName("pure 레포지토리 메서드별 메트릭 기록 테스트")
+    void pureRepositoryMetricsTest() {
+        pureRepository.saveAll(List.of(
+                new SoccerPlayer("Roy", 173),
+                new SoccerPlayer("Perry", 183)
+        ));
+        pureRepository.flushAndClear();
+
+        String repository = "SoccerPlayerPureRepository";
+        long invocations = invocationCount(repository, "findAll");
+        double rows = summaryTotal(RepositoryMetrics.ROWS, repository, "findAll");
+
+        pureRepository.findAll();
+
+        assertEquals(invocations + 1, invocationCount(repository, "findAll"));
+        assertEquals(rows + 2, summaryTotal(RepositoryMetrics.ROWS, repository, "findAll"));
+    }
+
+    private long invocationCount(String repository, String method) {
+        Timer timer = meterRegistry.find(RepositoryMetrics.INVOCATIONS)
+                .tags("repository", repository, "method", method, "exception", "None")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double summaryTotal(String name, String repository, String method) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tags("repository", repository, "method", method)
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.roy.datajpa.monitoring;
+
+import com.roy.datajpa.repository.data.SoccerPlayerDataRepository;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+@SpringBootTest(properties = "datajpa.slow-query.threshold=0ms")
+class SlowQueryLogTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SoccerPlayerDataRepository dataRepository;
+
+    @Test
+    @DisplayName("느린 쿼리가 바인딩 값, 호출 메서드, 실행 계획과 함께 기록됨을 검증")
+    void slowQueryLogTest(CapturedOutput output) throws InterruptedException {
+        assertTrue(dataSource instanceof ProxyDataSource);
+
+        dataRepository.findByNameAndHeightGreaterThan("SlowQueryRoy", 170);
+
+        // 기록은 별도 스레드에서 비동기로 남는다.
+        for (int i = 0; i < 50 && !output.getOut().contains("SlowQueryRoy"); i++) {
+            Thread.sleep(100);
+        }
+        String log = output.getOut();
+        assertTrue(log.contains("from SoccerPlayerDataRepository.findByNameAndHeightGreaterThan"));
+        assertTrue(log.contains("SlowQueryRoy"));
+        assertTrue(log.contains("IDX_SOCCER_PLAYER_NAME_HEIGHT"));
+    }
+
+}
@@ -1,15 +1,33 @@
 package com.roy.datajpa.repository.data;
 
 import com.roy.datajpa.domain.Director;
+import com.roy.datajpa.monitoring.SqlStatementCounter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class DirectorDataRepositoryTest {
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
     @Autowired
     private DirectorDataRepository dataRepository;
 
@@ -21,4 +39,28 @@ class DirectorDataRepositoryTest {
         dataRepository.save(director);
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional
+    @DisplayName("할당 식별자 엔티티 저장 시 merge 를 위한 SELECT 가 실행되지 않음을 검증")
+    void saveAssignedIdWithoutSelectTest() {
+        List<Director> directors = IntStream.range(0, 3)
+                .mapToObj(i -> new Director("assigned-director-" + i, "AssignedDirector" + i))
+                .collect(Collectors.toList());
+        directors.forEach(director -> assertTrue(director.isNew()));
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            dataRepository.saveAll(directors);
+            entityManager.flush();
+
+            assertTrue(scope.getStatementCounts().keySet().stream()
+                    .noneMatch(sql -> sql.toLowerCase().startsWith("select")));
+        }
+        directors.forEach(director -> assertFalse(director.isNew()));
+        entityManager.clear();
+
+        Director storedDirector = dataRepository.findById("assigned-director-0").orElseThrow();
+        assertEquals("assigned-director-0", storedDirector.getId());
+        assertFalse(storedDirector.isNew());
+    }
+
+}
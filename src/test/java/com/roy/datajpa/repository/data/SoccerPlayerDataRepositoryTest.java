@@ -1,26 +1,58 @@
 package com.roy.datajpa.repository.data;
 
+import com.roy.datajpa.domain.Director;
 import com.roy.datajpa.domain.SoccerPlayer;
 import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.monitoring.SqlStatementCounter;
+import com.roy.datajpa.repository.data.keyset.KeysetSlice;
+import com.roy.datajpa.repository.data.keyset.SoccerPlayerKeyset;
 import com.roy.datajpa.repository.data.projection.*;
 import com.roy.datajpa.repository.data.query.dto.SoccerPlayerResponseDTO;
+import com.roy.datajpa.repository.data.specification.SoccerPlayerSearchCondition;
 import com.roy.datajpa.repository.data.specification.SoccerPlayerSpecification;
+import com.roy.datajpa.repository.support.BulkUpdate;
+import com.roy.datajpa.repository.support.CountCache;
+import com.roy.datajpa.repository.support.FetchGraph;
+import com.roy.datajpa.repository.support.FetchGraphRegistry;
+import com.roy.datajpa.repository.support.FetchGraphs;
+import org.hibernate.FlushMode;
 import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Transactional
@@ -33,6 +65,24 @@ class SoccerPlayerDataRepositoryTest {
     @Autowired
     private SoccerPlayerDataRepository dataRepository;
 
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TeamDataRepository teamDataRepository;
+
+    @Autowired
+    private DirectorDataRepository directorDataRepository;
+
+    @Autowired
+    private FetchGraphRegistry fetchGraphRegistry;
+
+    @Autowired
+    private CountCache countCache;
+
     @Test
     @DisplayName("축구선수 저장 및 조회 테스트")
     void saveAndFindTest() {
@@ -208,6 +258,25 @@ class SoccerPlayerDataRepositoryTest {
         assertEquals(2, result.size());
     }
 
+    @Test
+    @DisplayName("큰 식별자 컬렉션 바인딩 시 청크 단위로 조회됨을 검증")
+    void largeCollectionBindingTest() {
+        Set<Long> targetIds = LongStream.rangeClosed(1, SoccerPlayerDataRepository.ID_IN_CHUNK_SIZE + 1)
+                .boxed()
+                .collect(Collectors.toSet());
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            assertTrue(dataRepository.findByIdIn(targetIds).isEmpty());
+            assertEquals(2, scope.getStatementCount());
+        }
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            // 상한보다 큰 청크 크기는 ID_IN_CHUNK_SIZE 로 제한된다.
+            assertTrue(dataRepository.findAllByIdInChunks(targetIds, Integer.MAX_VALUE, false).isEmpty());
+            assertEquals(2, scope.getStatementCount());
+        }
+    }
+
     @Test
     @DisplayName("페이징 테스트")
     void pagingTest() {
@@ -256,6 +325,78 @@ class SoccerPlayerDataRepositoryTest {
         assertTrue(pageOfResult.hasNext());
     }
 
+    @Test
+    @DisplayName("메소드 이름기반 쿼리 Keyset 페이징 테스트")
+    void methodNameKeysetTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173),
+                new SoccerPlayer("Perry", 180),
+                new SoccerPlayer("Sally", 160),
+                new SoccerPlayer("Dice", 183),
+                new SoccerPlayer("Louis", 178)
+        );
+        dataRepository.saveAll(players);
+
+        KeysetSlice<SoccerPlayer, Long> firstSlice = dataRepository.findSliceByNameIsNotNullAfterId(0L, 3);
+        KeysetSlice<SoccerPlayer, Long> secondSlice =
+                dataRepository.findSliceByNameIsNotNullAfterId(firstSlice.getNextKeyset(), 3);
+
+        assertEquals(3, firstSlice.getContent().size());
+        assertTrue(firstSlice.isHasNext());
+        assertEquals(2, secondSlice.getContent().size());
+        assertEquals(players.get(4).getId(), secondSlice.getNextKeyset());
+    }
+
+    @Test
+    @DisplayName("@Query Keyset 페이징 테스트")
+    void queryAnnotationKeysetTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173),
+                new SoccerPlayer("Perry", 180),
+                new SoccerPlayer("Sally", 180),
+                new SoccerPlayer("Dice", 183),
+                new SoccerPlayer("Louis", 178)
+        );
+        dataRepository.saveAll(players);
+
+        KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> firstSlice =
+                dataRepository.findSliceByHeightKeyset(SoccerPlayerKeyset.FIRST, 3);
+        KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> secondSlice =
+                dataRepository.findSliceByHeightKeyset(firstSlice.getNextKeyset(), 3);
+
+        assertEquals(3, firstSlice.getContent().size());
+        assertTrue(firstSlice.isHasNext());
+        assertFalse(secondSlice.isHasNext());
+        assertEquals(2, secondSlice.getContent().size());
+        assertEquals("Louis", secondSlice.getContent().get(0).getName());
+        assertEquals("Roy", secondSlice.getContent().get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Specification Keyset 페이징 테스트")
+    void specificationKeysetTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173),
+                new SoccerPlayer("Perry", 180),
+                new SoccerPlayer("Sally", 160),
+                new SoccerPlayer("Dice", 183),
+                new SoccerPlayer("Louis", 178)
+        );
+        dataRepository.saveAll(players);
+
+        Specification<SoccerPlayer> specification = SoccerPlayerSpecification.greaterHeight(170);
+        KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> firstSlice =
+                dataRepository.findSliceByKeyset(specification, SoccerPlayerKeyset.FIRST, 2);
+        KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> secondSlice =
+                dataRepository.findSliceByKeyset(specification, firstSlice.getNextKeyset(), 2);
+
+        assertEquals(2, firstSlice.getContent().size());
+        assertTrue(firstSlice.isHasNext());
+        assertEquals(2, secondSlice.getContent().size());
+        assertEquals("Roy", secondSlice.getContent().get(1).getName());
+        assertFalse(secondSlice.isHasNext());
+    }
+
     @Test
     @DisplayName("Page map 테스트")
     void pagingMapTest() {
@@ -296,6 +437,105 @@ class SoccerPlayerDataRepositoryTest {
         assertEquals(83, storedPlayer.getWeight());
     }
 
+    @Test
+    @DisplayName("Specification 기반 청크 단위 bulk update 테스트")
+    void specificationBulkUpdateTest() {
+        Team team = new Team("TeamA");
+        List<SoccerPlayer> players = dataRepository.saveAll(List.of(
+                new SoccerPlayer("Roy", 173, 73, team),
+                new SoccerPlayer("Perry", 180, 80, team),
+                new SoccerPlayer("Sally", 160, 60, team),
+                new SoccerPlayer("Dice", 183, 83, team),
+                new SoccerPlayer("Louis", 178, 78, new Team("TeamB"))
+        ));
+        entityManager.flush();
+        long version = players.get(0).getVersion();
+
+        int updatedCount = dataRepository.bulkUpdate(BulkUpdate.of(SoccerPlayer.class)
+                .where(SoccerPlayerSpecification.teamName("TeamA")
+                        .and(SoccerPlayerSpecification.greaterHeight(170)))
+                .increment("weight", 10)
+                .set("name", "Updated")
+                .chunkSize(2));
+
+        assertEquals(3, updatedCount);
+        // 갱신된 엔티티만 영속성 컨텍스트에서 분리되고, 함께 참조하는 팀은 관리 상태로 남는다.
+        assertFalse(entityManager.contains(players.get(0)));
+        assertFalse(entityManager.contains(players.get(3)));
+        assertTrue(entityManager.contains(players.get(2)));
+        assertTrue(entityManager.contains(team));
+
+        // 같은 팀을 참조하는 관리 엔티티와 새 엔티티를 flush 해도 준영속 팀으로 persist 가 전이되지 않는다.
+        players.get(2).setWeight(61);
+        dataRepository.save(new SoccerPlayer("Kane", 188, 86, team));
+        entityManager.flush();
+
+        SoccerPlayer storedPlayer = dataRepository.findById(players.get(0).getId()).orElseThrow();
+        assertEquals("Updated", storedPlayer.getName());
+        assertEquals(83, storedPlayer.getWeight());
+        assertEquals(version + 1, storedPlayer.getVersion());
+        assertEquals(78, dataRepository.findOneByName("Louis").getWeight());
+        assertEquals(61, dataRepository.findOneByName("Sally").getWeight());
+    }
+
+    @Test
+    @DisplayName("호출 시점 fetch graph 별 SQL 수 검증")
+    void fetchGraphStatementCountTest() {
+        List<SoccerPlayer> players = dataRepository.saveAll(List.of(
+                new SoccerPlayer("Roy", 173, 73, new Team("TeamA")),
+                new SoccerPlayer("Perry", 183, 83, new Team("TeamB")),
+                new SoccerPlayer("Dice", 183, 90, new Team("TeamC"))
+        ));
+        entityManager.flush();
+        Specification<SoccerPlayer> specification = SoccerPlayerSpecification.greaterHeight(170);
+        Example<SoccerPlayer> example = Example.of(new SoccerPlayer("Roy"),
+                ExampleMatcher.matching().withIgnorePaths("height", "weight"));
+        FetchGraph team = FetchGraph.of(SoccerPlayer.class, "team");
+        FetchGraph namedTeam = FetchGraph.named(SoccerPlayer.class, "SoccerPlayer.team");
+
+        // 그래프가 없으면 팀을 배치 페치로 한 번 더 조회한다.
+        assertEquals(2, countStatements(() -> dataRepository.findAll(specification)));
+        assertEquals(1, countStatements(() -> FetchGraphs.with(team, () -> dataRepository.findAll(specification))));
+        assertEquals(1, countStatements(() -> FetchGraphs.with(namedTeam, () -> dataRepository.findAll(example))));
+        assertEquals(1, countStatements(() -> FetchGraphs.with(team,
+                () -> dataRepository.findByNameAndHeightGreaterThan("Perry", 170))));
+        assertEquals(1, countStatements(() -> FetchGraphs.with(team,
+                () -> dataRepository.findById(players.get(0).getId()).stream().collect(Collectors.toList()))));
+
+        // 커스텀 프래그먼트의 JPQL, Criteria, Stream(scroll) 조회에도 같은 그래프가 적용된다.
+        assertEquals(1, countStatements(() -> FetchGraphs.with(team,
+                () -> dataRepository.findAllBySearchCondition(SoccerPlayerSearchCondition.of(null, 170, null)))));
+        assertEquals(1, countStatements(() -> FetchGraphs.with(team,
+                () -> dataRepository.findSliceByKeyset(specification, SoccerPlayerKeyset.FIRST, 10).getContent())));
+        assertEquals(1, countStatements(() -> FetchGraphs.with(team, () -> {
+            try (Stream<SoccerPlayer> stream = dataRepository.streamAll(100)) {
+                return stream.collect(Collectors.toList());
+            }
+        })));
+
+        // 호출 시점 그래프가 메서드에 선언된 @EntityGraph 보다 우선한다.
+        assertEquals(1, countStatements(() -> dataRepository.findAll()));
+        assertEquals(2, countStatements(() -> FetchGraphs.with(FetchGraph.of(SoccerPlayer.class),
+                () -> dataRepository.findAll())));
+    }
+
+    @Test
+    @DisplayName("fetch graph 는 모양별로 캐시됨을 검증")
+    void fetchGraphCacheTest() {
+        assertSame(
+                fetchGraphRegistry.resolve(entityManager, FetchGraph.of(Team.class, "soccerPlayers", "soccerPlayers.team")),
+                fetchGraphRegistry.resolve(entityManager, FetchGraph.of(Team.class, "soccerPlayers.team", "soccerPlayers")));
+    }
+
+    private int countStatements(Supplier<List<SoccerPlayer>> finder) {
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            finder.get().forEach(player -> player.getTeam().getName());
+            return scope.getStatementCount();
+        }
+    }
+
     @Test
     @DisplayName("순수 @EntityGraph 테스트")
     void onlyEntityGraphTest() {
@@ -311,6 +551,26 @@ class SoccerPlayerDataRepositoryTest {
         });
     }
 
+    @Test
+    @DisplayName("@EntityGraph 조회 SQL 수 테스트")
+    void entityGraphStatementCountTest() {
+        List<SoccerPlayer> soccerPlayers = List.of(
+                new SoccerPlayer("Roy", 173, 75, new Team("TeamA")),
+                new SoccerPlayer("Perry", 180, 80, new Team("TeamB"))
+        );
+        dataRepository.saveAll(soccerPlayers);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            List<SoccerPlayer> storedPlayers = dataRepository.findAll();
+            storedPlayers.forEach(player -> System.out.println("player.getTeam().getName() = " + player.getTeam().getName()));
+
+            assertEquals(1, scope.getStatementCount());
+            assertTrue(scope.getRepeatedStatements().isEmpty());
+        }
+    }
+
     @Test
     @DisplayName("JPQL + @EntityGraph 테스트")
     void jqplAndEntityGraphTest() {
@@ -377,6 +637,19 @@ class SoccerPlayerDataRepositoryTest {
         dataRepository.findCustomByName("Roy");
     }
     
+    @Test
+    @DisplayName("사용자 정의 리포지토리 JDBC 배치 벌크 저장 테스트")
+    void bulkSaveAllTest() {
+        List<SoccerPlayer> players = IntStream.range(0, 120)
+                .mapToObj(i -> new SoccerPlayer("Player" + i, 170 + i % 20, 70 + i % 10))
+                .collect(Collectors.toList());
+
+        int savedCount = dataRepository.bulkSaveAll(players, 50);
+
+        assertEquals(players.size(), savedCount);
+        assertEquals(players.size(), dataRepository.count());
+    }
+
     @Test
     @DisplayName("Auditing 테스트")
     void auditingTest() {
@@ -437,6 +710,83 @@ class SoccerPlayerDataRepositoryTest {
         assertEquals(2, storedPlayers.size());
     }
 
+    @Test
+    @DisplayName("Specification 조합 쿼리 플랜 캐시 테스트")
+    void specificationQueryPlanCacheTest() {
+        Team team1 = new Team("TeamA");
+        Team team2 = new Team("TeamB");
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173, 73, team1),
+                new SoccerPlayer("Perry", 180, 80, team1),
+                new SoccerPlayer("Sally", 160, 50, team1),
+                new SoccerPlayer("Dice", 183, 90, team2),
+                new SoccerPlayer("Louis", 178, 85, team2)
+        );
+        dataRepository.saveAll(players);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        dataRepository.findAll(SoccerPlayerSearchCondition.of("TeamA", 170, 70).toSpecification());
+        long planCacheHitCount = statistics.getQueryPlanCacheHitCount();
+
+        List<SoccerPlayer> storedPlayers =
+                dataRepository.findAll(SoccerPlayerSearchCondition.of("TeamB", 175, 80).toSpecification());
+        assertEquals(2, storedPlayers.size());
+        assertTrue(statistics.getQueryPlanCacheHitCount() > planCacheHitCount);
+    }
+
+    @Test
+    @DisplayName("조건 조합별 캐시된 JPQL 조회 테스트")
+    void searchConditionTest() {
+        Team team1 = new Team("TeamA");
+        Team team2 = new Team("TeamB");
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173, 73, team1),
+                new SoccerPlayer("Perry", 180, 80, team1),
+                new SoccerPlayer("Sally", 160, 50, team1),
+                new SoccerPlayer("Dice", 183, 90, team2),
+                new SoccerPlayer("Louis", 178, 85, team2)
+        );
+        dataRepository.saveAll(players);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<SoccerPlayerSearchCondition> conditions = List.of(
+                SoccerPlayerSearchCondition.of("TeamA", 170, 70),
+                SoccerPlayerSearchCondition.of(null, 175, null),
+                SoccerPlayerSearchCondition.of("TeamB", null, 85),
+                SoccerPlayerSearchCondition.of(null, null, null)
+        );
+        conditions.forEach(condition -> assertEquals(
+                dataRepository.findAll(condition.toSpecification()).size(),
+                dataRepository.findAllBySearchCondition(condition).size()));
+    }
+
+    @Test
+    @DisplayName("Specification 기반 벌크 삭제 테스트")
+    void specificationBulkDeleteTest() {
+        Team team1 = new Team("TeamA");
+        Team team2 = new Team("TeamB");
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173, 73, team1),
+                new SoccerPlayer("Perry", 180, 80, team1),
+                new SoccerPlayer("Sally", 160, 50, team1),
+                new SoccerPlayer("Dice", 183, 90, team2),
+                new SoccerPlayer("Louis", 178, 85, team2)
+        );
+        dataRepository.saveAll(players);
+
+        int deletedCount = dataRepository.bulkDelete(
+                SoccerPlayerSpecification.teamName("TeamA").and(SoccerPlayerSpecification.greaterHeight(170)), 1);
+
+        assertEquals(2, deletedCount);
+        assertEquals(3, dataRepository.count());
+        assertTrue(dataRepository.findById(players.get(0).getId()).isEmpty());
+    }
+
     @Test
     @DisplayName("Query By Example 테스트")
     void queryByExampleTest() {
@@ -465,6 +815,49 @@ class SoccerPlayerDataRepositoryTest {
         assertEquals(1, storedPlayers.size());
     }
 
+    @Test
+    @DisplayName("Specification, Query By Example, 사용자 정의 리포지토리 결과의 배치 페치 테스트")
+    void batchFetchTest() {
+        Team team1 = new Team("TeamA");
+        Team team2 = new Team("TeamB");
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173, 73, team1),
+                new SoccerPlayer("Perry", 180, 80, team1),
+                new SoccerPlayer("Roy", 160, 50, team2),
+                new SoccerPlayer("Dice", 183, 90, team2),
+                new SoccerPlayer("Louis", 178, 85, team2)
+        );
+        dataRepository.saveAll(players);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            dataRepository.findAll(SoccerPlayerSpecification.greaterHeight(170))
+                    .forEach(player -> player.getTeam().getName());
+            assertEquals(2, scope.getStatementCount());
+        }
+        entityManager.clear();
+        // 2차 캐시에 올라간 팀으로 SQL 수가 달라지지 않도록 비운다.
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            ExampleMatcher exampleMatcher = ExampleMatcher.matching()
+                    .withIgnorePaths("height", "weight");
+            dataRepository.findAll(Example.of(new SoccerPlayer("Roy"), exampleMatcher))
+                    .forEach(player -> player.getTeam().getName());
+            assertEquals(2, scope.getStatementCount());
+        }
+        entityManager.clear();
+        // 2차 캐시에 올라간 팀으로 SQL 수가 달라지지 않도록 비운다.
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            dataRepository.findCustomByName("Roy")
+                    .forEach(player -> player.getTeam().getName());
+            assertEquals(2, scope.getStatementCount());
+        }
+    }
+
     @Test
     @DisplayName("Closed Projection 테스트")
     void closedProjectionTest() {
@@ -652,4 +1045,223 @@ class SoccerPlayerDataRepositoryTest {
         });
     }
 
+    @Test
+    @DisplayName("ResultSet 직접 매핑 DTO, 컬럼 배열 프로젝션 조회 테스트")
+    void resultSetProjectionTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173, 73),
+                new SoccerPlayer("Perry", 180, 80),
+                new SoccerPlayer("Dice", 183, 90)
+        );
+        dataRepository.saveAll(players);
+
+        // flush 하지 않은 변경도 조회되어야 한다.
+        List<NativeProjectionDTO> storedPlayers = dataRepository.findAllNativeProjectionDTO(2);
+        assertEquals(3, storedPlayers.size());
+        assertEquals(players.get(0).getId(), storedPlayers.get(0).getId());
+        assertEquals("Perry", storedPlayers.get(1).getName());
+        assertEquals(90, storedPlayers.get(2).getWeight());
+
+        SoccerPlayerColumns columns = dataRepository.findAllColumns(2);
+        assertEquals(3, columns.size());
+        assertEquals(players.get(2).getId(), columns.getId(2));
+        assertEquals("Roy", columns.getName(0));
+        assertEquals(536, columns.heights().sum());
+        assertEquals(243, columns.weights().sum());
+    }
+
+    @Test
+    @DisplayName("네이티브 쿼리 윈도우 함수 카운트 페이징 테스트")
+    void nativeQueryWindowCountTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173, 73),
+                new SoccerPlayer("Roy", 183, 83),
+                new SoccerPlayer("Perry", 180, 80),
+                new SoccerPlayer("Dice", 183, 90),
+                new SoccerPlayer("Louis", 178, 85)
+        );
+        dataRepository.saveAll(players);
+        entityManager.flush();
+        entityManager.clear();
+
+        Sort sort = Sort.by(Sort.Direction.ASC, "soccer_player_id");
+        Page<NativeWindowCountProjection> storedPlayers
+                = dataRepository.findPageUsingNativeWindowCount(PageRequest.of(1, 2, sort));
+
+        assertEquals(2, storedPlayers.getContent().size());
+        assertEquals(5, storedPlayers.getTotalElements());
+        assertEquals(3, storedPlayers.getTotalPages());
+        assertEquals("Perry", storedPlayers.getContent().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Stream 조회 시 영속성 컨텍스트 크기 유지 테스트")
+    void streamBoundedPersistenceContextTest() {
+        int size = 10_000;
+        dataRepository.bulkSaveAll(IntStream.range(0, size)
+                .mapToObj(i -> new SoccerPlayer("Player" + i, 170 + i % 20, 70 + i % 10))
+                .collect(Collectors.toList()), 500);
+
+        Session session = entityManager.unwrap(Session.class);
+        AtomicLong maxManagedCount = new AtomicLong();
+        long streamedCount;
+        try (Stream<SoccerPlayer> stream = dataRepository.streamAll(500)) {
+            streamedCount = stream
+                    .peek(player -> maxManagedCount.accumulateAndGet(
+                            session.getStatistics().getEntityCount(), Math::max))
+                    .count();
+        }
+
+        assertEquals(size, streamedCount);
+        assertEquals(1, maxManagedCount.get());
+        assertEquals(0, session.getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("@Query DTO Stream 조회 테스트")
+    void queryAnnotationStreamTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173),
+                new SoccerPlayer("Perry", 183)
+        );
+        dataRepository.saveAll(players);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<SoccerPlayerResponseDTO> stream = dataRepository.streamDTOAllUsingQueryAnnotation()) {
+            assertEquals(2, stream.map(SoccerPlayerResponseDTO::getName).distinct().count());
+        }
+    }
+
+    @Test
+    @DisplayName("IN 절 청크 분할 조회 테스트")
+    void findAllByIdInChunksTest() {
+        List<SoccerPlayer> players = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new SoccerPlayer("Player" + i))
+                .collect(Collectors.toList());
+        dataRepository.saveAll(players);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> ids = players.stream().map(SoccerPlayer::getId).collect(Collectors.toList());
+        Collections.reverse(ids);
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            // 청크 크기 3은 4로 올라가 4, 4, 2 건으로 나뉜다.
+            List<SoccerPlayer> foundPlayers = dataRepository.findAllByIdInChunks(ids, 3, true);
+
+            assertEquals(ids, foundPlayers.stream().map(SoccerPlayer::getId).collect(Collectors.toList()));
+            assertEquals(3, scope.getStatementCount());
+            assertEquals(2, scope.getStatementCounts().size());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("IN 절 청크 병렬 조회 테스트")
+    void findAllByIdInChunksParallelTest() {
+        List<SoccerPlayer> players = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new SoccerPlayer("Player" + i))
+                .collect(Collectors.toList());
+        dataRepository.saveAll(players);
+        List<Long> ids = players.stream().map(SoccerPlayer::getId).collect(Collectors.toList());
+        List<Long> requestIds = new ArrayList<>(ids);
+        Collections.reverse(requestIds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<SoccerPlayer> foundPlayers =
+                    dataRepository.findAllByIdInChunks(requestIds, 4, true, executor).join();
+
+            assertEquals(requestIds, foundPlayers.stream().map(SoccerPlayer::getId).collect(Collectors.toList()));
+        } finally {
+            executor.shutdown();
+            dataRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("읽기 전용 트랜잭션 조회 테스트")
+    void readOnlyTransactionTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173),
+                new SoccerPlayer("Perry", 183)
+        );
+        dataRepository.saveAll(players);
+        List<Long> ids = players.stream().map(SoccerPlayer::getId).collect(Collectors.toList());
+
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        try {
+            readOnlyTemplate.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                List<SoccerPlayer> foundPlayers = dataRepository.findAll();
+
+                assertTrue(session.isDefaultReadOnly());
+                assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+                foundPlayers.forEach(player -> assertTrue(session.isReadOnly(player)));
+                // 스냅샷이 없으므로 변경 감지 대상이 아니다.
+                foundPlayers.forEach(player -> player.setHeight(200));
+            });
+
+            dataRepository.findAllById(ids)
+                    .forEach(player -> assertNotEquals(200, player.getHeight()));
+        } finally {
+            dataRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("비동기 조회 병렬 실행 테스트")
+    void asyncFanOutTest() {
+        Team team = new Team("AsyncTeam");
+        List<SoccerPlayer> players = dataRepository.saveAll(List.of(
+                new SoccerPlayer("Roy", 173, 73, team),
+                new SoccerPlayer("Perry", 183, 83, team)
+        ));
+        Director director = directorDataRepository.save(new Director("async-director", "AsyncDirector"));
+
+        try {
+            CompletableFuture<List<SoccerPlayer>> playersFuture = dataRepository.findAsyncByTeamName("AsyncTeam");
+            CompletableFuture<Team> teamFuture = teamDataRepository.findAsyncByName("AsyncTeam");
+            CompletableFuture<Director> directorFuture = directorDataRepository.findAsyncByName("AsyncDirector");
+            CompletableFuture.allOf(playersFuture, teamFuture, directorFuture).join();
+
+            assertEquals(2, playersFuture.join().size());
+            assertEquals("AsyncTeam", teamFuture.join().getName());
+            assertNotNull(directorFuture.join());
+        } finally {
+            dataRepository.deleteAllInBatch(players);
+            teamDataRepository.deleteAllInBatch(List.of(players.get(0).getTeam()));
+            directorDataRepository.deleteAllInBatch(List.of(director));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("배치 삭제 카운트 캐시 무효화 테스트")
+    void deleteInBatchCountCacheInvalidationTest() {
+        List<SoccerPlayer> players = dataRepository.saveAll(List.of(
+                new SoccerPlayer("Roy"),
+                new SoccerPlayer("Perry"),
+                new SoccerPlayer("Sally")
+        ));
+        String countQuery = "SELECT COUNT(SP) FROM SoccerPlayer SP";
+        LongSupplier counter = dataRepository::count;
+
+        try {
+            assertEquals(3, countCache.get(SoccerPlayer.class, countQuery, List.of(), counter));
+
+            dataRepository.deleteAllByIdInBatch(List.of(players.get(0).getId()));
+            assertEquals(2, countCache.get(SoccerPlayer.class, countQuery, List.of(), counter));
+
+            dataRepository.deleteAllInBatch(List.of(players.get(1)));
+            assertEquals(1, countCache.get(SoccerPlayer.class, countQuery, List.of(), counter));
+        } finally {
+            dataRepository.deleteAllInBatch(players);
+        }
+    }
+
 }
@@ -1,7 +1,148 @@
 package com.roy.datajpa.repository.data;
 
+import com.roy.datajpa.domain.SoccerPlayer;
+import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.monitoring.SqlStatementCounter;
+import com.roy.datajpa.repository.support.BulkUpdate;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
+@Transactional
+@SpringBootTest
 class TeamDataRepositoryTest {
 
-}
\ No newline at end of file
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TeamDataRepository dataRepository;
+
+    @Autowired
+    private SoccerPlayerDataRepository soccerPlayerDataRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Test
+    @DisplayName("2차 캐시 엔티티 조회 테스트")
+    void secondLevelCacheTest() {
+        Team team = dataRepository.save(new Team("TeamA"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        dataRepository.findById(team.getId()).orElseThrow();
+        entityManager.clear();
+
+        long hitCount = statistics.getSecondLevelCacheHitCount();
+        dataRepository.findById(team.getId()).orElseThrow();
+        assertEquals(hitCount + 1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("bulk update 후 2차 캐시에서 갱신 대상이 제거됨을 검증")
+    void bulkUpdateEvictsSecondLevelCacheTest() {
+        Team team = dataRepository.save(new Team("TeamA"));
+        entityManager.flush();
+        entityManager.clear();
+        dataRepository.findById(team.getId()).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(Team.class, team.getId()));
+
+        int updatedCount = BulkUpdate.of(Team.class)
+                .where((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("name"), "TeamA"))
+                .set("name", "TeamB")
+                .execute(entityManager);
+
+        assertEquals(1, updatedCount);
+        assertFalse(entityManagerFactory.getCache().contains(Team.class, team.getId()));
+        assertEquals("TeamB", dataRepository.findById(team.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("2차 캐시 지연 로딩 테스트")
+    void secondLevelCacheLazyLoadingTest() {
+        Team team = dataRepository.save(new Team("TeamA"));
+        soccerPlayerDataRepository.save(new SoccerPlayer("Roy", 173, 73, team));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        dataRepository.findById(team.getId()).orElseThrow();
+        entityManager.clear();
+
+        long hitCount = statistics.getSecondLevelCacheHitCount();
+        SoccerPlayer storedPlayer = soccerPlayerDataRepository.findOneByName("Roy");
+        assertEquals("TeamA", storedPlayer.getTeam().getName());
+        assertEquals(hitCount + 1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("쿼리 캐시 조회 테스트")
+    void queryCacheTest() {
+        dataRepository.save(new Team("TeamA"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        dataRepository.findByName("TeamA").orElseThrow();
+        entityManager.clear();
+
+        long queryCacheHitCount = statistics.getQueryCacheHitCount();
+        dataRepository.findByName("TeamA").orElseThrow();
+        assertEquals(queryCacheHitCount + 1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("컬렉션 fetch join 두 단계 페이징 테스트")
+    void collectionFetchJoinPagingTest() {
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("PagingTeam" + i);
+            for (int j = 0; j < 3; j++) {
+                soccerPlayerDataRepository.save(new SoccerPlayer("Player" + i + j, 170, 70, team));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        Specification<Team> pagingTeams = (root, query, criteriaBuilder) ->
+                criteriaBuilder.like(root.get("name"), "PagingTeam%");
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            Page<Team> page = dataRepository.findPageWithSoccerPlayers(
+                    pagingTeams, PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+            assertEquals(5, page.getTotalElements());
+            assertEquals(List.of("PagingTeam2", "PagingTeam1"), page.getContent().stream()
+                    .map(Team::getName)
+                    .collect(Collectors.toList()));
+            page.getContent().forEach(team -> {
+                assertTrue(Hibernate.isInitialized(team.getSoccerPlayers()));
+                assertEquals(3, team.getSoccerPlayers().size());
+            });
+            // 식별자 페이지, 컬렉션 IN 조회, 카운트
+            assertEquals(3, scope.getStatementCount());
+        }
+    }
+
+}
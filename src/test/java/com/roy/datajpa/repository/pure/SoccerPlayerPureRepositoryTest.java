@@ -2,15 +2,37 @@ package com.roy.datajpa.repository.pure;
 
 import com.roy.datajpa.domain.SoccerPlayer;
 import com.roy.datajpa.domain.Team;
+import com.roy.datajpa.monitoring.SqlStatementCounter;
+import com.roy.datajpa.repository.data.keyset.KeysetSlice;
+import com.roy.datajpa.repository.data.keyset.SoccerPlayerKeyset;
+import com.roy.datajpa.repository.data.specification.SoccerPlayerSpecification;
+import com.roy.datajpa.repository.support.BulkUpdate;
 import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +43,12 @@ class SoccerPlayerPureRepositoryTest {
     @Autowired
     private SoccerPlayerPureRepository pureRepository;
 
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     @DisplayName("축구선수 저장 및 조회 테스트")
     void saveAndFindTest() {
@@ -61,6 +89,36 @@ class SoccerPlayerPureRepositoryTest {
         assertEquals(0, deletedCount);
     }
 
+    @Test
+    @DisplayName("식별자 목록 기반 벌크 삭제 테스트")
+    void bulkDeleteAllByIdTest() {
+        List<SoccerPlayer> players = createPlayers("Delete", 25);
+        pureRepository.saveAll(players);
+
+        List<Long> targetIds = players.subList(0, 20).stream()
+                .map(SoccerPlayer::getId)
+                .collect(Collectors.toList());
+        int deletedCount = pureRepository.bulkDeleteAllById(targetIds, 8);
+
+        assertEquals(20, deletedCount);
+        assertEquals(5, pureRepository.count());
+        assertTrue(pureRepository.findOptionalById(targetIds.get(0)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Specification 기반 청크 벌크 삭제 테스트")
+    void bulkDeleteBySpecificationTest() {
+        List<SoccerPlayer> players = createPlayers("Delete", 25);
+        pureRepository.saveAll(players);
+
+        // 키 180 이상인 10명을 3명씩 4개의 청크로 나누어 삭제한다
+        int deletedCount = pureRepository.bulkDelete(SoccerPlayerSpecification.greaterHeight(179), 3);
+
+        assertEquals(10, deletedCount);
+        assertEquals(15, pureRepository.count());
+        assertTrue(pureRepository.findAll().stream().allMatch(player -> player.getHeight() < 180));
+    }
+
     @Test
     @DisplayName("메소드 이름기반 쿼리 테스트 키 기준 조회")
     void methodNameQueryByHeightTest() {
@@ -125,6 +183,103 @@ class SoccerPlayerPureRepositoryTest {
         assertEquals(5, pageOfPlayers.getTotalElements());
     }
 
+    @Test
+    @DisplayName("윈도우 함수 카운트 페이징 테스트")
+    void windowCountPagingTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173),
+                new SoccerPlayer("Perry", 180),
+                new SoccerPlayer("Sally", 160),
+                new SoccerPlayer("Dice", 183),
+                new SoccerPlayer("Louis", 178)
+        );
+        pureRepository.saveAll(players);
+        pureRepository.flushAndClear();
+
+        Page<SoccerPlayer> pageOfPlayers = pureRepository.findAllPageWithWindowCount(1, 2);
+        List<SoccerPlayer> listOfPlayers = pageOfPlayers.getContent();
+        assertEquals(2, listOfPlayers.size());
+        assertEquals("Louis", listOfPlayers.get(0).getName());
+        assertEquals(5, pageOfPlayers.getTotalElements());
+
+        Page<SoccerPlayer> emptyPage = pureRepository.findAllPageWithWindowCount(5, 2);
+        assertTrue(emptyPage.getContent().isEmpty());
+        assertEquals(5, emptyPage.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("카운트 캐시 무효화 테스트")
+    void countCacheInvalidationTest() {
+        pureRepository.saveAll(List.of(
+                new SoccerPlayer("Roy"),
+                new SoccerPlayer("Perry")
+        ));
+        assertEquals(2, pureRepository.findAllPage(0, 1).getTotalElements());
+
+        pureRepository.save(new SoccerPlayer("Sally"));
+        pureRepository.flush();
+        assertEquals(3, pureRepository.findAllPage(0, 1).getTotalElements());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("롤백된 트랜잭션의 카운트는 캐시되지 않음을 검증")
+    void countCacheIgnoresUncommittedCountTest() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<SoccerPlayer> players = pureRepository.saveAll(List.of(
+                new SoccerPlayer("Roy"),
+                new SoccerPlayer("Perry")
+        ));
+        try {
+            assertEquals(2, pureRepository.findAllPage(0, 1).getTotalElements());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                pureRepository.save(new SoccerPlayer("Sally"));
+                assertEquals(3, pureRepository.findAllPage(0, 1).getTotalElements());
+                status.setRollbackOnly();
+            });
+            assertEquals(2, pureRepository.findAllPage(0, 1).getTotalElements());
+
+            Long sallyId = transactionTemplate.execute(status -> pureRepository.save(new SoccerPlayer("Sally")).getId());
+            assertEquals(3, pureRepository.findAllPage(0, 1).getTotalElements());
+            pureRepository.bulkDeleteAllById(List.of(sallyId));
+        } finally {
+            pureRepository.bulkDeleteAllById(players.stream().map(SoccerPlayer::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Keyset 페이징 테스트")
+    void keysetPagingTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173),
+                new SoccerPlayer("Perry", 180),
+                new SoccerPlayer("Sally", 180),
+                new SoccerPlayer("Dice", 183),
+                new SoccerPlayer("Louis", 178)
+        );
+        pureRepository.saveAll(players);
+
+        List<SoccerPlayer> result = new ArrayList<>();
+        SoccerPlayerKeyset keyset = SoccerPlayerKeyset.FIRST;
+        int pageCount = 0;
+        KeysetSlice<SoccerPlayer, SoccerPlayerKeyset> slice;
+        do {
+            slice = pureRepository.findAllKeyset(keyset, 2);
+            result.addAll(slice.getContent());
+            keyset = slice.getNextKeyset();
+            pageCount++;
+        } while (slice.isHasNext());
+
+        assertEquals(3, pageCount);
+        assertEquals(5, result.size());
+        assertEquals("Dice", result.get(0).getName());
+        assertEquals("Roy", result.get(4).getName());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).getHeight() >= result.get(i).getHeight());
+        }
+    }
+
     @Test
     @DisplayName("벌크 업데이트 테스트")
     void bulkUpdateTest() {
@@ -144,8 +299,25 @@ class SoccerPlayerPureRepositoryTest {
     }
 
     @Test
-    @DisplayName("N + 1 발생 검증 테스트")
-    void isOccurNPlusOneTest() {
+    @DisplayName("조건과 컬럼 지정 벌크 업데이트 테스트")
+    void bulkUpdateWithAssignmentsTest() {
+        List<SoccerPlayer> players = List.of(
+                new SoccerPlayer("Roy", 173, 73),
+                new SoccerPlayer("Perry", 180, 80),
+                new SoccerPlayer("Sally", 160, 60)
+        );
+        pureRepository.saveAll(players);
+        int updatedCount = pureRepository.bulkUpdate(BulkUpdate.of(SoccerPlayer.class)
+                .where((root, query, criteriaBuilder) -> criteriaBuilder.lessThan(root.get("height"), 175))
+                .set("weight", 70));
+        assertEquals(2, updatedCount);
+        SoccerPlayer storedPlayer = pureRepository.findByName("Sally");
+        assertEquals(70, storedPlayer.getWeight());
+    }
+
+    @Test
+    @DisplayName("배치 페치로 N + 1이 발생하지 않음을 검증")
+    void isNotOccurNPlusOneWithBatchFetchTest() {
         List<SoccerPlayer> soccerPlayers = List.of(
                 new SoccerPlayer("Roy", 173, 75, new Team("TeamA")),
                 new SoccerPlayer("Perry", 180, 80, new Team("TeamB"))
@@ -154,12 +326,49 @@ class SoccerPlayerPureRepositoryTest {
         pureRepository.flushAndClear();
 
         List<SoccerPlayer> storedPlayers = pureRepository.findAll();
+        storedPlayers.forEach(player -> assertFalse(Hibernate.isInitialized(player.getTeam())));
 
-        storedPlayers.forEach(player -> {
-            assertFalse(Hibernate.isInitialized(player.getTeam()));
-            System.out.println("player.getTeam().getName() = " + player.getTeam().getName());
-            assertTrue(Hibernate.isInitialized(player.getTeam()));
-        });
+        // 하나의 프록시를 초기화하면 같은 배치의 프록시가 IN 절 한 번으로 함께 초기화된다.
+        System.out.println("player.getTeam().getName() = " + storedPlayers.get(0).getTeam().getName());
+        storedPlayers.forEach(player -> assertTrue(Hibernate.isInitialized(player.getTeam())));
+    }
+
+    @Test
+    @DisplayName("배치 페치 SQL 수 테스트")
+    void batchFetchStatementCountTest() {
+        List<SoccerPlayer> soccerPlayers = List.of(
+                new SoccerPlayer("Roy", 173, 75, new Team("TeamA")),
+                new SoccerPlayer("Perry", 180, 80, new Team("TeamB")),
+                new SoccerPlayer("Sally", 160, 50, new Team("TeamC"))
+        );
+        pureRepository.saveAll(soccerPlayers);
+        pureRepository.flushAndClear();
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            pureRepository.findAll().forEach(player -> player.getTeam().getName());
+
+            assertEquals(2, scope.getStatementCount());
+            assertTrue(scope.getRepeatedStatements().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("SQL 수 집계로 반복 조회 검출 테스트")
+    void detectRepeatedStatementTest() {
+        List<SoccerPlayer> soccerPlayers = List.of(
+                new SoccerPlayer("Roy", 173, 75),
+                new SoccerPlayer("Perry", 180, 80)
+        );
+        pureRepository.saveAll(soccerPlayers);
+        pureRepository.flushAndClear();
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            soccerPlayers.forEach(player -> pureRepository.findEntityById(player.getId()));
+
+            assertEquals(2, scope.getStatementCount());
+            assertEquals(1, scope.getRepeatedStatements().size());
+            assertEquals(2, scope.getRepeatedStatements().values().iterator().next());
+        }
     }
 
     @Test
@@ -181,6 +390,85 @@ class SoccerPlayerPureRepositoryTest {
         });
     }
 
+    @Test
+    @DisplayName("JDBC 배치 벌크 저장 테스트")
+    void bulkSaveTest() {
+        Team team = new Team("TeamA");
+        List<SoccerPlayer> players = IntStream.range(0, 120)
+                .mapToObj(i -> new SoccerPlayer("Player" + i, 170 + i % 20, 70 + i % 10, team))
+                .collect(Collectors.toList());
+
+        int savedCount = pureRepository.bulkSave(players, 50);
+
+        assertEquals(players.size(), savedCount);
+        assertEquals(players.size(), pureRepository.count());
+        assertEquals(players.size(), pureRepository.findAllUsingFetchJoin().stream()
+                .filter(player -> "TeamA".equals(player.getTeam().getName()))
+                .count());
+    }
+
+    @Test
+    @DisplayName("JDBC 배치 벌크 저장 시 INSERT 준비 횟수 검증 테스트")
+    void bulkSaveBatchStatementTest() {
+        int size = 1_000;
+        int batchSize = 50;
+
+        int savedCount;
+        long insertCount;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            savedCount = pureRepository.bulkSave(createPlayers("Bulk", size), batchSize);
+            insertCount = scope.getStatementCounts().entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("insert into soccer_player"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        assertEquals(size, savedCount);
+        assertEquals(size, pureRepository.count());
+        // INSERT 문은 flush 한 번에 한 번만 준비되고 나머지 행은 같은 문장에 배치로 추가된다
+        assertEquals(size / batchSize, insertCount);
+    }
+
+    private List<SoccerPlayer> createPlayers(String prefix, int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new SoccerPlayer(prefix + i, 170 + i % 20, 70 + i % 10))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Stream 조회 후 준영속 상태 전환 테스트")
+    void streamAllTest() {
+        List<SoccerPlayer> players = createPlayers("Stream", 1_000);
+        pureRepository.bulkSave(players);
+
+        long heightSum;
+        try (Stream<SoccerPlayer> stream = pureRepository.streamAll(100)) {
+            heightSum = stream.mapToLong(SoccerPlayer::getHeight).sum();
+        }
+
+        assertEquals(players.stream().mapToLong(SoccerPlayer::getHeight).sum(), heightSum);
+    }
+
+    @Test
+    @DisplayName("Stream 조회 시 여러 건이 공유하는 팀은 분리되지 않음을 검증")
+    void streamKeepsSharedTeamManagedTest() {
+        Team team = new Team("TeamA");
+        pureRepository.bulkSave(IntStream.range(0, 10)
+                .mapToObj(i -> new SoccerPlayer("Stream" + i, 170 + i, 70, team))
+                .collect(Collectors.toList()));
+
+        Set<Team> teams = Collections.newSetFromMap(new IdentityHashMap<>());
+        try (Stream<SoccerPlayer> stream = pureRepository.streamAll(100)) {
+            stream.forEach(player -> {
+                assertEquals("TeamA", player.getTeam().getName());
+                teams.add(player.getTeam());
+            });
+        }
+
+        // 선수를 분리할 때 팀까지 전이되면 다음 선수는 새 프록시로 팀을 다시 읽는다
+        assertEquals(1, teams.size());
+    }
+
     @Test
     @DisplayName("Auditing 테스트")
     void auditingTest() {
@@ -194,4 +482,60 @@ class SoccerPlayerPureRepositoryTest {
 //        System.out.println("storedPlayer.getUpdatedAt() = " + storedPlayer.getUpdatedAt());
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("@Version 낙관적 락 충돌 테스트")
+    void optimisticLockConflictTest() {
+        SoccerPlayer soccerPlayer = pureRepository.save(new SoccerPlayer("Roy", 173, 73));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        TransactionTemplate otherTransactionTemplate = new TransactionTemplate(transactionManager);
+        otherTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            assertThrows(OptimisticLockingFailureException.class, () ->
+                    transactionTemplate.executeWithoutResult(status -> {
+                        SoccerPlayer storedPlayer = pureRepository.findEntityById(soccerPlayer.getId());
+                        // 다른 트랜잭션이 먼저 같은 행을 수정하고 커밋한다.
+                        otherTransactionTemplate.executeWithoutResult(
+                                otherStatus -> pureRepository.increaseWeight(soccerPlayer.getId(), 1));
+                        storedPlayer.setWeight(storedPlayer.getWeight() + 1);
+                    }));
+            assertEquals(74, pureRepository.findEntityById(soccerPlayer.getId()).getWeight());
+        } finally {
+            pureRepository.bulkDeleteAllById(List.of(soccerPlayer.getId()));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("낙관적 락 충돌 재시도 테스트")
+    void retryOnConflictTest() {
+        SoccerPlayer soccerPlayer = pureRepository.save(new SoccerPlayer("Roy", 173, 73));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicInteger exhaustedCount = new AtomicInteger();
+
+        try {
+            CompletableFuture<?>[] futures = IntStream.range(0, 2)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> IntStream.range(0, 5).forEach(j -> {
+                        try {
+                            pureRepository.increaseWeight(soccerPlayer.getId(), 1);
+                        } catch (OptimisticLockingFailureException e) {
+                            exhaustedCount.incrementAndGet();
+                        }
+                    }), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+
+            // 재시도 횟수를 모두 쓴 호출 수는 스케줄링에 따라 달라지므로, 성공한 호출만큼만 정확히 반영되었는지 검증한다
+            int succeededCount = 10 - exhaustedCount.get();
+            SoccerPlayer storedPlayer = pureRepository.findEntityById(soccerPlayer.getId());
+            assertTrue(succeededCount > 0);
+            assertEquals(73 + succeededCount, storedPlayer.getWeight());
+            assertEquals(succeededCount, storedPlayer.getVersion());
+        } finally {
+            executor.shutdown();
+            pureRepository.bulkDeleteAllById(List.of(soccerPlayer.getId()));
+        }
+    }
+
 }
@@ -1,7 +1,59 @@
 package com.roy.datajpa.repository.pure;
 
+import com.roy.datajpa.domain.Team;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
+@Transactional
+@SpringBootTest
 class TeamPureRepositoryTest {
 
-}
\ No newline at end of file
+    @Autowired
+    private TeamPureRepository pureRepository;
+
+    @Test
+    @DisplayName("식별자 목록 기반 벌크 삭제 테스트")
+    void bulkDeleteAllByIdTest() {
+        List<Team> teams = pureRepository.saveAll(List.of(
+                new Team("TeamA"),
+                new Team("TeamB"),
+                new Team("TeamC")
+        ));
+
+        List<Long> targetIds = teams.subList(0, 2).stream()
+                .map(Team::getId)
+                .collect(Collectors.toList());
+        int deletedCount = pureRepository.bulkDeleteAllById(targetIds, 1);
+
+        assertEquals(2, deletedCount);
+        assertEquals(1, pureRepository.count());
+        assertTrue(pureRepository.findOptionalById(targetIds.get(0)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Specification 기반 청크 벌크 삭제 테스트")
+    void bulkDeleteBySpecificationTest() {
+        pureRepository.saveAll(List.of(
+                new Team("TeamA1"),
+                new Team("TeamA2"),
+                new Team("TeamA3"),
+                new Team("TeamB")
+        ));
+
+        int deletedCount = pureRepository.bulkDelete(
+                (root, query, criteriaBuilder) -> criteriaBuilder.like(root.get("name"), "TeamA%"), 2);
+
+        assertEquals(3, deletedCount);
+        assertEquals(1, pureRepository.count());
+        assertTrue(pureRepository.findByName("TeamB").isPresent());
+    }
+
+}